@@ -0,0 +1,75 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+import spring.datajpa.config.BatchDateTimeProvider;
+import spring.datajpa.entity.Member;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 엔티티 한 건당 감사 비용 (avgt + gc 프로파일러의 bytes/op)
+// legacy*: 예전 방식(호출마다 UUID, ZonedDateTime.now()), 나머지: 캐시된 auditor + 배치 고정 시각
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditingBenchmark {
+
+    ConfigurableApplicationContext context;
+    AuditorAware<?> auditorAware;
+    DateTimeProvider dateTimeProvider;
+    AuditingHandler auditingHandler;
+    BatchDateTimeProvider.Pin pin;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("auditing");
+        auditorAware = context.getBean(AuditorAware.class);
+        dateTimeProvider = context.getBean(DateTimeProvider.class);
+        auditingHandler = context.getBean(AuditingHandler.class);
+
+        pin = context.getBean(BatchDateTimeProvider.class).pin(Instant.now());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pin.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<String> legacyAuditor() {
+        return Optional.of(UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public Optional<?> cachedAuditor() {
+        return auditorAware.getCurrentAuditor();
+    }
+
+    @Benchmark
+    public ZonedDateTime legacyTimestamp() {
+        return ZonedDateTime.now();
+    }
+
+    @Benchmark
+    public Object pinnedTimestamp() {
+        return dateTimeProvider.getNow();
+    }
+
+    // 리스너가 persist마다 하는 일 전체 (auditor + 시각 + 필드 세팅)
+    @Benchmark
+    public Member markCreated() {
+        return auditingHandler.markCreated(Member.builder().username("audit").build());
+    }
+
+}
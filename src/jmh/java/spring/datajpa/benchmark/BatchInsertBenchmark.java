@@ -0,0 +1,60 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// 점수는 rows/s (OperationsPerInvocation = 한 번에 넣는 행 수)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BatchInsertBenchmark.ROWS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+    static final int ROWS = 10_000;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("insert");
+        memberRepository = context.getBean(MemberRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> saveAll() {
+        return memberRepository.saveAll(members());
+    }
+
+    @Benchmark
+    public long saveAllBatched() {
+        return memberRepository.saveAllBatched(members(), 1000);
+    }
+
+    private static List<Member> members() {
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> Member.builder().username("member" + i).age(i % 100).build())
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,86 @@
+package spring.datajpa.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.datajpa.DataJpaApplication;
+import spring.datajpa.entity.Member;
+import spring.datajpa.entity.Team;
+import spring.datajpa.repository.MemberRepository;
+import spring.datajpa.repository.TeamRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// 벤치마크용 스프링 컨텍스트: 임베디드 H2(메모리), SQL 로그 끔
+// 측정 대상이 아닌 계측(p6spy, slow query EXPLAIN, 리포지토리 지표/StatementInspector, 영속성 컨텍스트 가드)과
+// 백그라운드 예제 데이터 입력은 기본으로 끔 -> 그것을 측정하는 벤치마크에서만 properties로 다시 켬
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        return run(WebApplicationType.NONE, database, properties);
+    }
+
+    // 톰캣까지 띄움 (server.port=0, 실제 포트는 port(context))
+    static ConfigurableApplicationContext startWeb(String database, String... properties) {
+        return run(WebApplicationType.SERVLET, database, properties);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    // application.yml보다 우선하도록 default properties가 아니라 커맨드라인 인자로 넘김
+    // 같은 키를 두 번 넘기면 값이 "false,true"처럼 합쳐지므로 기본값을 키 단위로 덮어씀
+    private static ConfigurableApplicationContext run(WebApplicationType type, String database, String... properties) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        values.put("server.port", "0");
+        values.put("logging.level.org.hibernate.SQL", "warn");
+        values.put("decorator.datasource.enabled", "false");
+        values.put("datajpa.slow-query.enabled", "false");
+        values.put("datajpa.monitoring.enabled", "false");
+        values.put("datajpa.persistence-context-guard.enabled", "false");
+        values.put("datajpa.sample-data.members", "0");
+        for (String property : properties) {
+            int idx = property.indexOf('=');
+            values.put(property.substring(0, idx), property.substring(idx + 1));
+        }
+
+        List<String> args = values.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.toList());
+
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(type)
+                .logStartupInfo(false)
+                .run(args.toArray(new String[0]));
+    }
+
+    // member{i}: age = i % 100, team = team{i % teams}
+    static void seed(ConfigurableApplicationContext context, int rows, int teams) {
+        TeamRepository teamRepository = context.getBean(TeamRepository.class);
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+
+        List<Team> savedTeams = teamRepository.saveAll(IntStream.range(0, teams)
+                .mapToObj(i -> Team.builder().name("team" + i).build())
+                .collect(Collectors.toList()));
+
+        Iterable<Member> members = () -> IntStream.range(0, rows)
+                .mapToObj(i -> Member.builder()
+                        .username("member" + i)
+                        .age(i % 100)
+                        .team(savedTeams.get(i % teams))
+                        .build())
+                .iterator();
+
+        memberRepository.saveAllBatched(members, 1000);
+    }
+
+}
@@ -0,0 +1,73 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.datajpa.repository.MemberRepository;
+import spring.datajpa.service.MemberBulkUpdater;
+
+import java.util.concurrent.TimeUnit;
+
+// 단일 update 문 vs id 구간 병렬 업데이트: 전체 시간(점수)과 락 유지 시간(iteration마다 출력)
+// 단일 문은 락 유지 시간 = 전체 시간
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkUpdateBenchmark {
+
+    @Param("1000000")
+    int rows;
+
+    @Param({"10000"})
+    int chunkSize;
+
+    @Param({"4"})
+    int parallelism;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    MemberBulkUpdater memberBulkUpdater;
+    TransactionTemplate transactionTemplate;
+
+    MemberBulkUpdater.Result lastResult;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("bulk");
+        BenchmarkContext.seed(context, rows, 100);
+
+        memberRepository = context.getBean(MemberRepository.class);
+        memberBulkUpdater = context.getBean(MemberBulkUpdater.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        if (lastResult != null) {
+            System.out.println("chunked max lock hold = " + lastResult.getMaxChunkTime().toMillis() + " ms, chunks = " + lastResult.getChunks());
+            lastResult = null;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer singleStatement() {
+        return transactionTemplate.execute(status -> memberRepository.bulkAgeIncrementMtAge(0));
+    }
+
+    @Benchmark
+    public long chunked() {
+        lastResult = memberBulkUpdater.incrementAgeFrom(0, chunkSize, parallelism, (done, total, updated) -> { });
+
+        return lastResult.getUpdatedRows();
+    }
+
+}
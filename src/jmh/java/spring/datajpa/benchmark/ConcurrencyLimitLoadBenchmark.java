@@ -0,0 +1,64 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.datajpa.config.VirtualThreadConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+// 동시 클라이언트 5k가 톰캣 스레드/커넥션 풀보다 훨씬 많을 때 지연 분포(p99 포함)와 처리량 비교
+// platform: 톰캣 기본 풀(200), limit: + 동시 요청 제한, virtual: 가상 스레드 + 동시 요청 제한
+// SampleTime 결과의 p0.99와 Throughput(ops/ms) 결과를 본다
+// virtual은 JDK 21 이상에서만: ./gradlew jmh -PruntimeJdk=21
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(5000)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xss256k", "-Xmx4g"})
+public class ConcurrencyLimitLoadBenchmark {
+
+    @Param({"platform", "limit", "virtual"})
+    String mode;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.startWeb("limit",
+                "spring.datasource.hikari.maximum-pool-size=10",
+                "server.tomcat.threads.max=200",
+                "server.tomcat.accept-count=5000",
+                "datajpa.concurrency-limit.enabled=" + !"platform".equals(mode),
+                "datajpa.virtual-threads.enabled=" + "virtual".equals(mode),
+                "datajpa.concurrency-limit.timeout-ms=2000");
+        if ("virtual".equals(mode) && !context.getBean(VirtualThreadConfig.VirtualThreadCustomizer.class).isActive()) {
+            context.close();
+            throw new IllegalStateException("virtual mode needs JDK 21+, run with -PruntimeJdk=21");
+        }
+        BenchmarkContext.seed(context, 10_000, 100);
+
+        client = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create(
+                "http://localhost:" + BenchmarkContext.port(context) + "/members?page=3&size=20")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int members() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+}
@@ -0,0 +1,74 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.datajpa.dto.MemberDto;
+import spring.datajpa.repository.MemberRepository;
+import spring.datajpa.repository.TeamRepository;
+import spring.datajpa.service.AsyncRepositoryFacade;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// member(팀 이름 포함) + member 수 + team 수 조회: 순차 실행 vs AsyncRepositoryFacade로 동시 실행 (/members/{id}/overview)
+// 메모리 H2는 왕복 지연이 거의 없어서 차이가 작음, 네트워크 너머 DB일수록 병렬 쪽이 유리
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class FanOutBenchmark {
+
+    @Param("100000")
+    int rows;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TeamRepository teamRepository;
+    AsyncRepositoryFacade asyncRepositoryFacade;
+    TransactionTemplate readOnly;
+    Long memberId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("fanout");
+        BenchmarkContext.seed(context, rows, 100);
+
+        memberRepository = context.getBean(MemberRepository.class);
+        teamRepository = context.getBean(TeamRepository.class);
+        asyncRepositoryFacade = context.getBean(AsyncRepositoryFacade.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        memberId = memberRepository.findListByUsername("member0").get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // 예전 핸들러처럼 하나씩 (각 호출이 자기 트랜잭션)
+    @Benchmark
+    public Object[] sequential() {
+        Optional<MemberDto> member = readOnly.execute(status -> memberRepository.findById(memberId).map(MemberDto::new));
+        long totalMembers = memberRepository.count();
+        long totalTeams = teamRepository.count();
+
+        return new Object[]{member, totalMembers, totalTeams};
+    }
+
+    @Benchmark
+    public Object[] fanOut() {
+        CompletableFuture<Optional<MemberDto>> member = asyncRepositoryFacade.findMember(memberId);
+        CompletableFuture<Long> totalMembers = asyncRepositoryFacade.countMembers();
+        CompletableFuture<Long> totalTeams = asyncRepositoryFacade.countTeams();
+
+        return new Object[]{member.join(), totalMembers.join(), totalTeams.join()};
+    }
+
+}
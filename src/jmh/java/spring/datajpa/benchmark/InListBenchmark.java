@@ -0,0 +1,55 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// username IN 조회: 한 번에 바인딩(findByNames) vs 청크 병렬(findByNamesInChunks)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class InListBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    int names;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    List<String> usernames;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("inlist");
+        BenchmarkContext.seed(context, 100_000, 100);
+        memberRepository = context.getBean(MemberRepository.class);
+
+        usernames = IntStream.range(0, names)
+                .mapToObj(i -> "member" + (i * 2))
+                .collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> singleInList() {
+        return memberRepository.findByNames(usernames);
+    }
+
+    @Benchmark
+    public List<Member> chunked() {
+        return memberRepository.findByNamesInChunks(usernames);
+    }
+
+}
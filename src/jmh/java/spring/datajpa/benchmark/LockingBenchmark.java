@@ -0,0 +1,90 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+import spring.datajpa.service.OptimisticRetryExecutor;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// 8개 스레드가 소수의 인기 member를 동시에 수정: PESSIMISTIC_WRITE vs @Version + 재시도
+// 낙관적 쪽의 abort 비율(충돌로 다시 실행된 비율)은 iteration마다 출력
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class LockingBenchmark {
+
+    @Param({"4", "64"})
+    int hotMembers;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    OptimisticRetryExecutor optimisticRetryExecutor;
+    TransactionTemplate transactionTemplate;
+
+    final AtomicLong attempts = new AtomicLong();
+    final AtomicLong commits = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("locking",
+                "datajpa.optimistic-retry.max-attempts=100",
+                "datajpa.optimistic-retry.initial-backoff-ms=1",
+                "datajpa.optimistic-retry.max-backoff-ms=20");
+
+        memberRepository = context.getBean(MemberRepository.class);
+        optimisticRetryExecutor = context.getBean(OptimisticRetryExecutor.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        memberRepository.saveAll(IntStream.range(0, hotMembers)
+                .mapToObj(i -> Member.builder().username("hot" + i).build())
+                .collect(Collectors.toList()));
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        long total = attempts.getAndSet(0);
+        long committed = commits.getAndSet(0);
+        if (total > 0) {
+            System.out.printf("optimistic abort rate = %.2f%% (%d / %d)%n", 100.0 * (total - committed) / total, total - committed, total);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private String randomHotMember() {
+        return "hot" + ThreadLocalRandom.current().nextInt(hotMembers);
+    }
+
+    @Benchmark
+    public void pessimistic() {
+        String username = randomHotMember();
+        transactionTemplate.executeWithoutResult(status ->
+                memberRepository.findLockByUsername(username).forEach(Member::increaseAge));
+    }
+
+    @Benchmark
+    public void optimistic() {
+        String username = randomHotMember();
+        optimisticRetryExecutor.run(() -> {
+            attempts.incrementAndGet();
+            memberRepository.findListByUsername(username).forEach(Member::increaseAge);
+        });
+        commits.incrementAndGet();
+    }
+
+}
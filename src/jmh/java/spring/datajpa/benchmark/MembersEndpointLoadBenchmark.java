@@ -0,0 +1,55 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+// prod 프로파일로 톰캣을 띄우고 64개 스레드로 GET /members, 커넥션 풀 크기별 처리량 비교
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MembersEndpointLoadBenchmark {
+
+    @Param({"2", "5", "10", "20", "40"})
+    int poolSize;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.startWeb("load",
+                "spring.profiles.active=prod",
+                "spring.jpa.hibernate.ddl-auto=create",
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "spring.datasource.hikari.minimum-idle=" + poolSize,
+                "server.tomcat.threads.max=200");
+        BenchmarkContext.seed(context, 10_000, 100);
+
+        client = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create(
+                "http://localhost:" + BenchmarkContext.port(context) + "/members?page=3&size=20")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int members() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+
+}
@@ -0,0 +1,68 @@
+package spring.datajpa.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import spring.datajpa.controller.MemberController;
+import spring.datajpa.controller.MemberPageWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// 목록 한 페이지를 JSON 바이트로 만들기까지: /members (JPQL DTO -> Page -> ObjectMapper) vs /members/compact (JDBC -> JsonGenerator)
+// gc 프로파일러의 gc.alloc.rate.norm = 요청당 할당 bytes
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class MembersReadPathBenchmark {
+
+    @Param({"20", "1000"})
+    int size;
+
+    ConfigurableApplicationContext context;
+    MemberController memberController;
+    MemberPageWriter memberPageWriter;
+    ObjectMapper objectMapper;
+    Pageable pageable;
+    ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("readpath");
+        BenchmarkContext.seed(context, 100_000, 100);
+
+        memberController = context.getBean(MemberController.class);
+        memberPageWriter = context.getBean(MemberPageWriter.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        pageable = PageRequest.of(3, size);
+        out = new ByteArrayOutputStream(size * 64);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int page() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, memberController.list(pageable, "exact"));
+
+        return out.size();
+    }
+
+    @Benchmark
+    public int compact() throws IOException {
+        out.reset();
+        memberPageWriter.write(pageable, out);
+
+        return out.size();
+    }
+
+}
@@ -0,0 +1,86 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import spring.datajpa.controller.MemberController;
+import spring.datajpa.dto.MemberDto;
+import spring.datajpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// offset 페이징(Page + count) vs keyset 페이징, 첫 페이지와 깊은 페이지 비교
+// slice: count 없이 look-ahead 한 건, cachedTotal: /members?count=cached (total은 캐시에서)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PagingBenchmark {
+
+    private static final int SIZE = 20;
+
+    @Param("2000000")
+    int rows;
+
+    @Param({"0", "10000"})
+    int page;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    MemberController memberController;
+
+    String afterUsername;
+    Long afterId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("paging");
+        BenchmarkContext.seed(context, rows, 100);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberController = context.getBean(MemberController.class);
+
+        // keyset은 직전 페이지의 마지막 행을 커서로 사용
+        if (page > 0) {
+            List<MemberDto> previous = memberRepository.findMemberDtoFirstPage(PageRequest.of(page - 1, SIZE));
+            MemberDto last = previous.get(previous.size() - 1);
+            afterUsername = last.getUsername();
+            afterId = last.getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MemberDto> offset() {
+        return memberRepository.findMemberDtoPage(PageRequest.of(page, SIZE, Sort.by("username", "id")));
+    }
+
+    @Benchmark
+    public Slice<MemberDto> slice() {
+        return memberController.list(PageRequest.of(page, SIZE, Sort.by("username", "id")), "none");
+    }
+
+    @Benchmark
+    public Slice<MemberDto> cachedTotal() {
+        return memberController.list(PageRequest.of(page, SIZE, Sort.by("username", "id")), "cached");
+    }
+
+    @Benchmark
+    public List<MemberDto> keyset() {
+        if (afterUsername == null) {
+            return memberRepository.findMemberDtoFirstPage(PageRequest.of(0, SIZE));
+        }
+
+        return memberRepository.findMemberDtoAfter(afterUsername, afterId, PageRequest.of(0, SIZE));
+    }
+
+}
@@ -0,0 +1,90 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberJpaRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 한 트랜잭션에서 1M 행을 페이지 단위로 읽어 updateUsername 하는 배치 작업
+// autoClear=false: 영속성 컨텍스트가 끝까지 커짐, true: 가드가 주기적으로 flush + clear
+// peakHeapMb(페이지마다 측정한 사용 힙의 최댓값)를 보조 카운터로 출력
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PersistenceContextGuardBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Param("1000000")
+    int rows;
+
+    @Param({"false", "true"})
+    boolean autoClear;
+
+    ConfigurableApplicationContext context;
+    MemberJpaRepository memberJpaRepository;
+    TransactionTemplate transactionTemplate;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Heap {
+
+        public long peakHeapMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakHeapMb = 0;
+        }
+
+        void sample() {
+            Runtime runtime = Runtime.getRuntime();
+            peakHeapMb = Math.max(peakHeapMb, (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        }
+
+    }
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("guard",
+                "datajpa.persistence-context-guard.enabled=true",
+                "datajpa.persistence-context-guard.auto-clear=" + autoClear,
+                "datajpa.persistence-context-guard.max-managed-entities=10000");
+        BenchmarkContext.seed(context, rows, 100);
+
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer updateAll(Heap heap) {
+        return transactionTemplate.execute(status -> {
+            int updated = 0;
+            Long lastId = 0L;
+            List<Member> page;
+            while (!(page = memberJpaRepository.findAfter(lastId, PAGE_SIZE)).isEmpty()) {
+                for (Member member : page) {
+                    member.updateUsername(member.getUsername() + "_");
+                }
+                updated += page.size();
+                lastId = page.get(page.size() - 1).getId();
+                heap.sample();
+            }
+
+            return updated;
+        });
+    }
+
+}
@@ -0,0 +1,76 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+import spring.datajpa.repository.UsernameOnly;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// 같은 username을 가진 100k 행을 SpEL 열린 프로젝션 vs 닫힌 프로젝션(default 메서드)으로 읽기
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final String USERNAME = "projection";
+
+    // 예전 UsernameOnly: 엔티티 전체를 조회한 뒤 행마다 SpEL 평가
+    public interface UsernameOnlySpel {
+
+        @Value("#{target.username + ' ' + target.age}")
+        String getUsername();
+
+    }
+
+    @Param("100000")
+    int rows;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("projection");
+        memberRepository = context.getBean(MemberRepository.class);
+
+        Iterable<Member> members = () -> IntStream.range(0, rows)
+                .mapToObj(i -> Member.builder().username(USERNAME).age(i % 100).build())
+                .iterator();
+        memberRepository.saveAllBatched(members, 1000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int spelOpenProjection() {
+        int length = 0;
+        for (UsernameOnlySpel row : memberRepository.findGenericByUsername(USERNAME, UsernameOnlySpel.class)) {
+            length += row.getUsername().length();
+        }
+
+        return length;
+    }
+
+    @Benchmark
+    public int closedProjection() {
+        int length = 0;
+        List<UsernameOnly> result = memberRepository.findProjectionByUsername(USERNAME);
+        for (UsernameOnly row : result) {
+            length += row.getUsernameWithAge().length();
+        }
+
+        return length;
+    }
+
+}
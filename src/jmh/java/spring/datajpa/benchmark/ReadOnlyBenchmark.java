@@ -0,0 +1,56 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.datajpa.repository.MemberRepository;
+
+import java.util.concurrent.TimeUnit;
+
+// 100k 엔티티 조회: 읽기 전용 트랜잭션 vs 쓰기 트랜잭션 (gc 프로파일러의 bytes/op로 스냅샷 비용 비교)
+// 쓰기 트랜잭션은 엔티티마다 로딩 스냅샷을 남기고 커밋 때 dirty checking까지 함
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReadOnlyBenchmark {
+
+    @Param("100000")
+    int rows;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate readOnly;
+    TransactionTemplate readWrite;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("readonly");
+        BenchmarkContext.seed(context, rows, 100);
+
+        memberRepository = context.getBean(MemberRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer readOnlyTransaction() {
+        return readOnly.execute(status -> memberRepository.findMemberCustom().size());
+    }
+
+    @Benchmark
+    public Integer readWriteTransaction() {
+        return readWrite.execute(status -> memberRepository.findMemberCustom().size());
+    }
+
+}
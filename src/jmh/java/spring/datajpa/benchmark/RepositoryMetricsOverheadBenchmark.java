@@ -0,0 +1,51 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// 리포지토리 계측(aspect + statement inspector + post-load 리스너) 호출당 오버헤드
+// 2차 캐시 적중으로 SQL이 없는 findById를 측정 -> enabled=true와 false의 차이가 계측 비용
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryMetricsOverheadBenchmark {
+
+    @Param({"false", "true"})
+    boolean monitoring;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    Long id;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("metrics", "datajpa.monitoring.enabled=" + monitoring);
+        memberRepository = context.getBean(MemberRepository.class);
+        id = memberRepository.save(Member.builder().username("metrics").build()).getId();
+        memberRepository.findById(id);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Member> findByIdCached() {
+        return memberRepository.findById(id);
+    }
+
+    @Benchmark
+    public Optional<Member> findByUsername() {
+        return memberRepository.findOptionalMemberByUsername("metrics");
+    }
+
+}
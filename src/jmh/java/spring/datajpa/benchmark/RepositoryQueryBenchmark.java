@@ -0,0 +1,111 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import spring.datajpa.dto.MemberDto;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryQueryBenchmark {
+
+    private static final String USERNAME = "member42";
+
+    @Param("1000")
+    int rows;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    MemberJpaRepository memberJpaRepository;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("query");
+        BenchmarkContext.seed(context, rows, 10);
+
+        memberRepository = context.getBean(MemberRepository.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> derivedQuery() {
+        return memberRepository.findByUsernameAndAgeGreaterThan(USERNAME, 10);
+    }
+
+    @Benchmark
+    public List<Member> pureJpaQuery() {
+        return memberJpaRepository.findByUsernameAndAgeGreaterThan(USERNAME, 10);
+    }
+
+    @Benchmark
+    public List<Member> jpqlQuery() {
+        return memberRepository.findUser(USERNAME, 42);
+    }
+
+    // 쿼리 캐시 대상이라 캐시 적중 경로를 측정함
+    @Benchmark
+    public List<Member> namedQuery() {
+        return memberRepository.findByUsername(USERNAME);
+    }
+
+    @Benchmark
+    public Member nativeQuery() {
+        return memberRepository.findByNativeQuery(USERNAME);
+    }
+
+    @Benchmark
+    public List<MemberDto> dtoProjection() {
+        return memberRepository.findMemberDto();
+    }
+
+    @Benchmark
+    public List<UsernameOnly> closedProjection() {
+        return memberRepository.findProjectionByUsername(USERNAME);
+    }
+
+    @Benchmark
+    public List<NestedClosedProjection> nestedClosedProjection() {
+        return memberRepository.findGenericByUsername(USERNAME, NestedClosedProjection.class);
+    }
+
+    @Benchmark
+    public List<Member> fetchJoin() {
+        return memberRepository.findMemberFetchJoin();
+    }
+
+    @Benchmark
+    public List<Member> entityGraph() {
+        return memberRepository.findAll();
+    }
+
+    @Benchmark
+    public List<Member> namedEntityGraph() {
+        return memberRepository.findEntityGraphByUsername(USERNAME);
+    }
+
+    @Benchmark
+    public Page<Member> paging() {
+        return memberRepository.findByAge(42, PageRequest.of(1, 20));
+    }
+
+    @Benchmark
+    public Page<MemberDto> dtoPaging() {
+        return memberRepository.findMemberDtoPage(PageRequest.of(1, 20));
+    }
+
+}
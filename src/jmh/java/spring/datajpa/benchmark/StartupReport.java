@@ -0,0 +1,106 @@
+package spring.datajpa.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JVM 기본 vs AppCDS: 새 프로세스를 띄워서 첫 /members 요청이 200을 받을 때까지 걸린 시간과 그 시점의 RSS (중앙값)
+// ./gradlew startupReport (RSS는 Linux /proc 기준)
+public class StartupReport {
+
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        String classpath = System.getProperty("app.classpath");
+        String archive = System.getProperty("app.archive");
+
+        report("jvm", classpath, List.of());
+        report("appcds", classpath, List.of("-Xshare:auto", "-XX:SharedArchiveFile=" + archive));
+    }
+
+    private static void report(String name, String classpath, List<String> jvmArgs) throws Exception {
+        long[] firstRequestMillis = new long[RUNS];
+        long[] rssKb = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long[] result = run(classpath, jvmArgs);
+            firstRequestMillis[i] = result[0];
+            rssKb[i] = result[1];
+        }
+
+        System.out.printf("%-7s time-to-first-request = %d ms, rss = %d MB%n",
+                name, median(firstRequestMillis), median(rssKb) / 1024);
+    }
+
+    private static long[] run(String classpath, List<String> jvmArgs) throws Exception {
+        int port = freePort();
+
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-cp", classpath, "spring.datajpa.DataJpaApplication",
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1",
+                "--logging.level.root=warn"));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/members?page=0&size=20")).build();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("application exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // 아직 포트가 안 열림
+                }
+                Thread.sleep(10);
+            }
+
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            return new long[]{elapsed, rssKb(process.pid())};
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static long rssKb(long pid) throws IOException {
+        return Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status")).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(-1L);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        return sorted[sorted.length / 2];
+    }
+
+}
@@ -0,0 +1,82 @@
+package spring.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+import spring.datajpa.service.MemberUsernameCache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// username 조회 16스레드 동시 실행, 키는 Zipf 분포(s = 1.0, 인기 있는 소수의 username에 몰림)
+// repository: 매번 DB, nearCache: MemberUsernameCache (id near cache + 2차 캐시)
+// cacheSize를 키 수보다 작게 두면 W-TinyLFU가 인기 키를 얼마나 잘 남기는지가 처리량에 드러남
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(16)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class UsernameCacheBenchmark {
+
+    private static final int KEYS = 100_000;
+
+    @Param({"1000", "10000"})
+    int cacheSize;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    MemberUsernameCache memberUsernameCache;
+
+    // cdf[i] = P(rank <= i)
+    double[] zipfCdf;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("usernamecache",
+                "datajpa.username-cache.maximum-size=" + cacheSize);
+        BenchmarkContext.seed(context, KEYS, 100);
+
+        memberRepository = context.getBean(MemberRepository.class);
+        memberUsernameCache = context.getBean(MemberUsernameCache.class);
+
+        zipfCdf = new double[KEYS];
+        double sum = 0;
+        for (int i = 0; i < KEYS; i++) {
+            sum += 1.0 / (i + 1);
+            zipfCdf[i] = sum;
+        }
+        for (int i = 0; i < KEYS; i++) {
+            zipfCdf[i] /= sum;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private String nextUsername() {
+        int rank = Arrays.binarySearch(zipfCdf, ThreadLocalRandom.current().nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+
+        return "member" + Math.min(rank, KEYS - 1);
+    }
+
+    @Benchmark
+    public List<Member> repository() {
+        return memberRepository.findListByUsername(nextUsername());
+    }
+
+    @Benchmark
+    public List<Member> nearCache() {
+        return memberUsernameCache.findListByUsername(nextUsername());
+    }
+
+}
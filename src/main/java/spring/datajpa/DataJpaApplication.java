@@ -4,10 +4,11 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import spring.datajpa.config.BatchDateTimeProvider;
+import spring.datajpa.config.RequestAuditorAware;
 
-import java.util.Optional;
-import java.util.UUID;
-
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
 @SpringBootApplication
 public class DataJpaApplication {
 
@@ -17,8 +18,13 @@ public class DataJpaApplication {
 
 	@Bean
 	public AuditorAware<String> auditorProvider() {
-		// 실무에서는 Session에서 사용자 ID를 가져오면 될 듯
-		return () -> Optional.of(UUID.randomUUID().toString());
+		// 엔티티마다 UUID를 만들지 않고 요청당 한 번만 계산
+		return new RequestAuditorAware("system");
+	}
+
+	@Bean
+	public BatchDateTimeProvider auditingDateTimeProvider() {
+		return new BatchDateTimeProvider();
 	}
 
 }
@@ -0,0 +1,53 @@
+package spring.datajpa.config;
+
+import org.springframework.data.auditing.DateTimeProvider;
+
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.Optional;
+
+// 감사 시각 제공: 평소에는 Instant.now(), pin()으로 고정하면 현재 스레드의 flush 배치 전체가 같은 시각을 씀
+// 감사 설정의 빈을 그대로 주입받아 씀 (pin은 close하면 바깥 pin의 시각으로 되돌아가므로 중첩 호출에도 안전)
+public class BatchDateTimeProvider implements DateTimeProvider {
+
+    private final ThreadLocal<Optional<TemporalAccessor>> pinned = new ThreadLocal<>();
+
+    public Pin pin(Instant now) {
+        Pin pin = new Pin(pinned.get());
+        pinned.set(Optional.of(now));
+
+        return pin;
+    }
+
+    @Override
+    public Optional<TemporalAccessor> getNow() {
+        Optional<TemporalAccessor> now = pinned.get();
+
+        return now != null ? now : Optional.of(Instant.now());
+    }
+
+    public class Pin implements AutoCloseable {
+
+        private final Optional<TemporalAccessor> previous;
+
+        private Pin(Optional<TemporalAccessor> previous) {
+            this.previous = previous;
+        }
+
+        // 같은 범위 안에서 고정 시각만 바꿈 (다음 flush 배치)
+        public void repin(Instant now) {
+            pinned.set(Optional.of(now));
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                pinned.remove();
+            } else {
+                pinned.set(previous);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package spring.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+// AppCDS 클래스 목록을 만드는 학습 실행 (./gradlew cdsClassList)
+// ready(= 쿼리 warm-up 완료) 후 첫 요청 경로(MVC, Jackson)까지 한 번 태우고 종료
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datajpa.cds.training-run", havingValue = "true")
+public class CdsTrainingRun {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exit(ApplicationReadyEvent event) {
+        String port = event.getApplicationContext().getEnvironment().getProperty("local.server.port");
+        if (port != null) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/members?page=0&size=20")).build();
+                HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+            } catch (IOException e) {
+                log.warn("training request failed", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+
+}
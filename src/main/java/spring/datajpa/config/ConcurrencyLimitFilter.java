@@ -0,0 +1,131 @@
+package spring.datajpa.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// 커넥션 풀 앞단의 동시 요청 제한: 풀 크기만큼만 DB 작업에 들어가고
+// 나머지는 여기서 잠깐 기다리다가 503으로 빠르게 실패 (톰캣 스레드가 풀 대기로 전부 묶이지 않게)
+// 가상 스레드 모드에서는 스레드 수 제한이 없으므로 항상 켜짐 (풀 대기 대신 여기서 unmount 되어 기다림)
+// 한 요청이 커넥션을 여러 개 동시에 쓰는 경로(병렬 fan-out)는 weights만큼 permit을 가져감
+@Component
+@ConditionalOnExpression("${datajpa.concurrency-limit.enabled:false} or ${datajpa.virtual-threads.enabled:false}")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    private final Map<String, Integer> weights;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ConcurrencyLimitFilter(@Value("${datajpa.concurrency-limit.permits}") int permits,
+                                  @Value("${datajpa.concurrency-limit.timeout-ms}") long timeoutMillis,
+                                  @Value("#{${datajpa.concurrency-limit.weights}}") Map<String, Integer> weights) {
+        this.permits = new Semaphore(permits, true);
+        this.timeoutMillis = timeoutMillis;
+        // permit 수보다 큰 가중치는 영원히 얻을 수 없으므로 permit 수로 자름
+        this.weights = weights.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> Math.min(Math.max(e.getValue(), 1), permits)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int weight = weightOf(request.getRequestURI());
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(weight, timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        Permit permit = new Permit(weight);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // 비동기 요청(StreamingResponseBody, CompletableFuture)은 첫 디스패치가 끝나도 DB 작업이 남아 있음
+            // -> 비동기 처리가 끝날 때(완료/에러/타임아웃) 반납
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    private int weightOf(String uri) {
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), uri)) {
+                return entry.getValue();
+            }
+        }
+
+        return 1;
+    }
+
+    // 요청당 한 번만 반납
+    private class Permit implements AsyncListener {
+
+        private final int weight;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(int weight) {
+            this.weight = weight;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release(weight);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 비동기가 다시 시작되면 새 AsyncContext에 다시 등록
+            event.getAsyncContext().addListener(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package spring.datajpa.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// 리포지토리 조회를 병렬로 나눠 실행할 때 쓰는 스레드 풀
+// 스레드 수는 커넥션 풀 크기 이하로, 큐가 차면 호출한 스레드가 직접 실행 (back-pressure)
+// Executor 빈을 직접 등록하면 부트의 applicationTaskExecutor가 빠지므로 같이 등록
+// (없으면 MVC 비동기 처리(StreamingResponseBody, CompletableFuture)가 작업마다 스레드를 새로 만드는 SimpleAsyncTaskExecutor로 감)
+@Configuration
+public class RepositoryExecutorConfig {
+
+    // spring.task.execution.* 설정을 그대로 따르는 부트 기본 실행기
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor repositoryExecutor(@Value("${datajpa.repository-executor.pool-size}") int poolSize,
+                                                     @Value("${datajpa.repository-executor.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("repository-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        return executor;
+    }
+
+}
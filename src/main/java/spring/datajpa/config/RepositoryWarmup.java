@@ -0,0 +1,129 @@
+package spring.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+import spring.datajpa.repository.MemberRepository;
+import spring.datajpa.repository.UsernameOnly;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 기동 직후, readiness(ACCEPTING_TRAFFIC) 전에 MemberRepository 조회 메서드를 한 번씩 실행
+// JPQL 파싱/SQL 생성, 파생 쿼리(criteria) 변환, JDBC prepare를 첫 요청이 대신 내지 않게
+// 결과가 인자로 제한되는 메서드만 (없는 username, 0번 페이지 1건), 인자 없이 전체를 읽는 메서드는 건너뜀
+// 읽기 전용 트랜잭션에서 실행하고 롤백
+@Slf4j
+@Component
+public class RepositoryWarmup {
+
+    private static final String NO_MATCH = "__warmup__";
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnly;
+
+    private volatile List<String> warmedUp = Collections.emptyList();
+    private volatile List<String> failed = Collections.emptyList();
+
+    public RepositoryWarmup(MemberRepository memberRepository, PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        List<String> succeeded = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        for (Method method : MemberRepository.class.getDeclaredMethods()) {
+            Object[] args = arguments(method);
+            if (args == null) {
+                continue;
+            }
+
+            try {
+                readOnly.executeWithoutResult(status -> {
+                    ReflectionUtils.invokeMethod(method, memberRepository, args);
+                    status.setRollbackOnly();
+                });
+                succeeded.add(method.getName());
+            } catch (RuntimeException e) {
+                // 잘못된 쿼리는 기동을 막지 않고 경고만 (첫 호출에서 어차피 실패함)
+                errors.add(method.getName());
+                log.warn("warm-up failed for MemberRepository.{}: {}", method.getName(), e.getMessage());
+            }
+        }
+
+        warmedUp = Collections.unmodifiableList(succeeded);
+        failed = Collections.unmodifiableList(errors);
+        log.info("warmed up {} MemberRepository queries in {} ms ({} failed)",
+                succeeded.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), errors.size());
+    }
+
+    public List<String> getWarmedUp() {
+        return warmedUp;
+    }
+
+    public List<String> getFailed() {
+        return failed;
+    }
+
+    // 실행하지 않을 메서드는 null
+    private static Object[] arguments(Method method) {
+        if (method.isDefault() || method.isBridge() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())
+                || method.isAnnotationPresent(Modifying.class) || method.isAnnotationPresent(Lock.class)
+                || method.getParameterCount() == 0) {
+            return null;
+        }
+
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = argument(types[i]);
+            if (args[i] == null) {
+                return null;
+            }
+        }
+
+        return args;
+    }
+
+    private static Object argument(Class<?> type) {
+        if (type == String.class) {
+            return NO_MATCH;
+        }
+        if (type == int.class || type == Integer.class) {
+            return -1;
+        }
+        if (type == long.class || type == Long.class) {
+            return -1L;
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of(NO_MATCH);
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 1);
+        }
+        if (type == Class.class) {
+            return UsernameOnly.class;
+        }
+
+        return null;
+    }
+
+}
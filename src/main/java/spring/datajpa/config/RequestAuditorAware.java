@@ -0,0 +1,44 @@
+package spring.datajpa.config;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.UUID;
+
+// 감사(auditor) 값을 요청당 한 번만 계산해서 요청 속성에 캐시
+// 요청 밖(배치, 스케줄러)에서는 고정된 시스템 사용자
+public class RequestAuditorAware implements AuditorAware<String> {
+
+    private static final String ATTRIBUTE = RequestAuditorAware.class.getName() + ".AUDITOR";
+
+    private final Optional<String> systemAuditor;
+
+    public RequestAuditorAware(String systemAuditor) {
+        this.systemAuditor = Optional.of(systemAuditor);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<String> getCurrentAuditor() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return systemAuditor;
+        }
+
+        Optional<String> auditor = (Optional<String>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (auditor == null) {
+            auditor = Optional.of(resolveAuditor());
+            attributes.setAttribute(ATTRIBUTE, auditor, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return auditor;
+    }
+
+    // 실무에서는 Session에서 사용자 ID를 가져오면 될 듯
+    private String resolveAuditor() {
+        return UUID.randomUUID().toString();
+    }
+
+}
@@ -0,0 +1,50 @@
+package spring.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// 예제 데이터(user0 ~ user{n-1})는 기동이 끝난 뒤 repositoryExecutor에서 넣음 (기동 시간에 포함되지 않게)
+@Slf4j
+@Component
+public class SampleDataLoader {
+
+    private final MemberRepository memberRepository;
+    private final ThreadPoolTaskExecutor repositoryExecutor;
+    private final int members;
+
+    public SampleDataLoader(MemberRepository memberRepository,
+                            @Qualifier("repositoryExecutor") ThreadPoolTaskExecutor repositoryExecutor,
+                            @Value("${datajpa.sample-data.members}") int members) {
+        this.memberRepository = memberRepository;
+        this.repositoryExecutor = repositoryExecutor;
+        this.members = members;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (members <= 0) {
+            return;
+        }
+
+        repositoryExecutor.execute(() -> {
+            List<Member> sample = IntStream.range(0, members)
+                    .mapToObj(i -> Member.builder().username("user" + i).build())
+                    .collect(Collectors.toList());
+
+            memberRepository.saveAllBatched(sample, members);
+            log.info("loaded {} sample members", members);
+        });
+    }
+
+}
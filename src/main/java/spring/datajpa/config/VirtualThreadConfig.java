@@ -0,0 +1,77 @@
+package spring.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 가상 스레드 모드 (datajpa.virtual-threads.enabled=true + JDK 21 이상에서 실행할 때만)
+// 톰캣 요청 처리 스레드 풀을 요청마다 가상 스레드 하나로 바꿈 -> 요청 안의 리포지토리 호출도 가상 스레드에서 JDBC 대기
+// 소스는 Java 11로 컴파일하므로 Executors.newVirtualThreadPerTaskExecutor()는 리플렉션으로 찾음 (JDK 21 미만이면 경고 후 기존 풀 유지)
+// pinning: H2 드라이버는 synchronized 안에서 I/O를 하므로 JDBC 호출 중에는 캐리어 스레드가 묶임
+// -> ConcurrencyLimitFilter가 JDBC에 들어가는 요청 수를 풀 크기로 제한하고(가상 스레드는 Semaphore에서 unmount 되어 기다림),
+//    캐리어 수(-Djdk.virtualThreadScheduler.parallelism)는 풀 크기보다 크게 둘 것
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "datajpa.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    static final int MIN_FEATURE_VERSION = 21;
+
+    @Bean
+    public VirtualThreadCustomizer virtualThreadCustomizer() {
+        return new VirtualThreadCustomizer(newVirtualThreadExecutor());
+    }
+
+    // 지원하지 않는 JDK면 null
+    static ExecutorService newVirtualThreadExecutor() {
+        int feature = Runtime.version().feature();
+        if (feature < MIN_FEATURE_VERSION) {
+            log.warn("datajpa.virtual-threads.enabled is set but JDK {} has no virtual threads (needs {}+), using the platform thread pool",
+                    feature, MIN_FEATURE_VERSION);
+            return null;
+        }
+
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("cannot create virtual thread executor on JDK " + feature, e);
+        }
+    }
+
+    public static class VirtualThreadCustomizer implements TomcatProtocolHandlerCustomizer<ProtocolHandler>, DisposableBean {
+
+        private final ExecutorService executor;
+
+        VirtualThreadCustomizer(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        public boolean isActive() {
+            return executor != null;
+        }
+
+        @Override
+        public void customize(ProtocolHandler protocolHandler) {
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+                log.info("tomcat requests run on virtual threads");
+            }
+        }
+
+        @Override
+        public void destroy() {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+
+    }
+
+}
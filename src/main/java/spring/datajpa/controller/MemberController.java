@@ -1,22 +1,53 @@
 package spring.datajpa.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import spring.datajpa.dto.CursorResult;
+import spring.datajpa.dto.MemberCursor;
 import spring.datajpa.dto.MemberDto;
+import spring.datajpa.dto.MemberOverviewDto;
 import spring.datajpa.entity.Member;
 import spring.datajpa.repository.MemberRepository;
+import spring.datajpa.service.AsyncRepositoryFacade;
+import spring.datajpa.service.CachedCounter;
 
-import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_CURSOR_SIZE = 2000;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final String MEMBER_COUNT = "members";
+
     private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final AsyncRepositoryFacade asyncRepositoryFacade;
+    private final CachedCounter cachedCounter;
+    private final MemberPageWriter memberPageWriter;
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
@@ -31,16 +62,117 @@ public class MemberController {
         return member.getUsername();
     }
 
+    // count=exact: Page (count 쿼리, 첫 페이지가 덜 차면 생략), none: Slice (count 없음), cached: 캐시된 total
     @GetMapping("/members")
-    public Page<MemberDto> list(Pageable pageable) {
-        return memberRepository.findAll(pageable).map(MemberDto::new);
+    public Slice<MemberDto> list(Pageable pageable,
+                                 @RequestParam(value = "count", defaultValue = "exact") String count) {
+        switch (count) {
+            case "none":
+                return memberRepository.findMemberDtoSlice(pageable);
+            case "cached":
+                return listWithCachedTotal(pageable);
+            default:
+                return memberRepository.findMemberDtoPage(pageable);
+        }
+    }
+
+    private Page<MemberDto> listWithCachedTotal(Pageable pageable) {
+        Slice<MemberDto> slice = memberRepository.findMemberDtoSlice(pageable);
+        List<MemberDto> content = slice.getContent();
+
+        if (!slice.hasNext()) {
+            // 마지막 페이지: 비어 있지 않으면 total이 정확히 나옴
+            // 끝을 넘어선 빈 페이지는 total을 알 수 없으므로 캐시 값 (offset보다 클 수는 없음)
+            long total = content.isEmpty() && pageable.getOffset() > 0
+                    ? Math.min(cachedCounter.get(MEMBER_COUNT, memberRepository::count), pageable.getOffset())
+                    : pageable.getOffset() + content.size();
+
+            return new PageImpl<>(content, pageable, total);
+        }
+
+        // 다음 페이지가 있으면 캐시된 total, 캐시 값이 작게 오래됐어도 최소한 다음 페이지 한 건까지는 있다고 표시
+        long total = Math.max(cachedCounter.get(MEMBER_COUNT, memberRepository::count),
+                pageable.getOffset() + content.size() + 1);
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // /members와 같은 페이지를 엔티티/DTO 없이 JDBC -> JSON으로 바로 씀
+    @GetMapping("/members/compact")
+    public void listCompact(Pageable pageable, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        memberPageWriter.write(pageable, response.getOutputStream());
+    }
+
+    @GetMapping("/members/cursor")
+    public CursorResult<MemberDto> listByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                                @RequestParam(value = "size", defaultValue = "20") int size) {
+        // size + 1을 읽으므로 상한이 없으면 Integer.MAX_VALUE에서 overflow (Pageable 기본 상한과 같게)
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_SIZE);
+
+        // 다음 페이지 존재 여부를 count 대신 한 건 더 읽어서 판단
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<MemberDto> rows;
+        if (cursor == null) {
+            rows = memberRepository.findMemberDtoFirstPage(limit);
+        } else {
+            MemberCursor after = decodeCursor(cursor);
+            rows = memberRepository.findMemberDtoAfter(after.getUsername(), after.getId(), limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorResult<>(rows, null);
+        }
+
+        List<MemberDto> content = rows.subList(0, pageSize);
+
+        return new CursorResult<>(content, MemberCursor.from(content.get(pageSize - 1)).encode());
     }
 
-    @PostConstruct
-    public void init() {
-        for (int i = 0; i < 100; i++) {
-            memberRepository.save(Member.builder().username("user" + i).build());
+    // 클라이언트가 보낸 토큰이 깨졌으면 500이 아니라 400
+    private MemberCursor decodeCursor(String cursor) {
+        try {
+            return MemberCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor", e);
         }
     }
 
+    @GetMapping("/members/{id}/overview")
+    public CompletableFuture<ResponseEntity<MemberOverviewDto>> overview(@PathVariable("id") Long id) {
+        // 서로 의존하지 않는 세 조회를 동시에 시작하고 모두 끝나면 응답 (서블릿 스레드는 그동안 반환됨)
+        // 팀 이름은 member 조회(MemberDto)에 이미 들어 있으므로 따로 찾지 않음
+        CompletableFuture<Optional<MemberDto>> member = asyncRepositoryFacade.findMember(id);
+        CompletableFuture<Long> totalMembers = asyncRepositoryFacade.countMembers();
+        CompletableFuture<Long> totalTeams = asyncRepositoryFacade.countTeams();
+
+        return CompletableFuture.allOf(member, totalMembers, totalTeams).thenApply(done -> member.join()
+                .map(found -> ResponseEntity.ok(new MemberOverviewDto(found, totalMembers.join(), totalTeams.join())))
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        // 한 줄에 member 하나씩 응답 스트림에 바로 씀 (전체 결과를 메모리에 올리지 않음)
+        StreamingResponseBody body = out -> {
+            SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out);
+
+            memberRepository.scrollAll(EXPORT_FETCH_SIZE, member -> {
+                try {
+                    writer.write(new MemberDto(member));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            writer.flush();
+        };
+
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
 }
@@ -0,0 +1,92 @@
+package spring.datajpa.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import spring.datajpa.repository.MemberRowRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// /members/compact 응답: JDBC 행을 JsonGenerator로 바로 씀 (Page, DTO, 중간 Map 없음)
+// {"content":[{"id":1,"username":"..","teamName":".."}, ...],"number":0,"size":20,"totalElements":100}
+// 페이지(최대 2000행, 수백 KB)는 메모리 버퍼에 다 쓴 뒤 응답으로 복사
+// -> 중간에 SQL이 실패해도 아직 아무것도 나가지 않았으므로 200 + 잘린 JSON이 아니라 에러 응답
+@Component
+public class MemberPageWriter {
+
+    private final MemberRowRepository memberRowRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+
+    public MemberPageWriter(MemberRowRepository memberRowRepository,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager) {
+        this.memberRowRepository = memberRowRepository;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public void write(Pageable pageable, OutputStream out) throws IOException {
+        // 응답에 아무것도 쓰기 전에 정렬을 확인해야 400으로 응답할 수 있음
+        try {
+            memberRowRepository.checkSortable(pageable.getSort());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        // 행 조회와 count를 한 트랜잭션에서 (같은 커넥션, 읽기 전용)
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        readOnly.executeWithoutResult(status -> {
+            try {
+                writePage(pageable, buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        buffer.writeTo(out);
+    }
+
+    private void writePage(Pageable pageable, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("content");
+            int rows = memberRowRepository.forEachRow(pageable, (id, username, teamName) -> {
+                json.writeStartObject();
+                json.writeNumberField("id", id);
+                json.writeStringField("username", username);
+                json.writeStringField("teamName", teamName);
+                json.writeEndObject();
+            });
+            json.writeEndArray();
+
+            json.writeNumberField("number", pageable.getPageNumber());
+            json.writeNumberField("size", pageable.getPageSize());
+            json.writeNumberField("totalElements", total(pageable, rows));
+            json.writeEndObject();
+        }
+    }
+
+    // 페이지가 덜 찼으면 count 없이 total 계산 (PageableExecutionUtils와 같은 규칙)
+    private long total(Pageable pageable, int rows) {
+        if (pageable.getOffset() == 0 && rows < pageable.getPageSize()) {
+            return rows;
+        }
+        if (rows > 0 && rows < pageable.getPageSize()) {
+            return pageable.getOffset() + rows;
+        }
+
+        return memberRowRepository.count();
+    }
+
+}
@@ -0,0 +1,19 @@
+package spring.datajpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CursorResult<T> {
+
+    private final List<T> content;
+    private final String nextCursor;   // 마지막 페이지면 null
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+}
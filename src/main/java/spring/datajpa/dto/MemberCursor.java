@@ -0,0 +1,40 @@
+package spring.datajpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// keyset 페이징의 위치 (username, id), 클라이언트에는 불투명한 토큰으로만 노출
+@Getter
+@AllArgsConstructor
+public class MemberCursor {
+
+    private static final char DELIMITER = ':';
+
+    private final String username;
+    private final Long id;
+
+    public static MemberCursor from(MemberDto last) {
+        return new MemberCursor(last.getUsername(), last.getId());
+    }
+
+    // 잘못된 토큰은 모두 IllegalArgumentException (Base64, NumberFormatException 포함)
+    public static MemberCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int idx = raw.lastIndexOf(DELIMITER);
+        if (idx < 0) {
+            throw new IllegalArgumentException("invalid cursor: " + token);
+        }
+
+        return new MemberCursor(raw.substring(0, idx), Long.valueOf(raw.substring(idx + 1)));
+    }
+
+    public String encode() {
+        String raw = username + DELIMITER + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
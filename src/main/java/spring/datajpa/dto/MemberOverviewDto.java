@@ -0,0 +1,14 @@
+package spring.datajpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MemberOverviewDto {
+
+    private MemberDto member;   // 팀 이름 포함
+    private long totalMembers;
+    private long totalTeams;
+
+}
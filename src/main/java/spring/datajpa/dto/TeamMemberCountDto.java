@@ -0,0 +1,16 @@
+package spring.datajpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class TeamMemberCountDto {
+
+    private Long id;
+    private String name;
+    private Long memberCount;
+
+}
@@ -8,9 +8,10 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
-import java.time.ZonedDateTime;
+import java.time.Instant;
 
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -19,10 +20,12 @@ public class BaseEntity {
 
     @CreatedDate
     @Column(updatable = false)
-    private ZonedDateTime createdDate;
+    @Convert(converter = EpochMillisConverter.class)
+    private Instant createdDate;
 
     @LastModifiedDate
-    private ZonedDateTime lastModifiedDate;
+    @Convert(converter = EpochMillisConverter.class)
+    private Instant lastModifiedDate;
 
     @CreatedBy
     @Column(updatable = false)
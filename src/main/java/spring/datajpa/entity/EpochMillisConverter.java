@@ -0,0 +1,21 @@
+package spring.datajpa.entity;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.time.Instant;
+
+// 감사 컬럼을 timestamp(+zone) 대신 epoch millis(bigint)로 저장
+@Converter
+public class EpochMillisConverter implements AttributeConverter<Instant, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Instant attribute) {
+        return attribute != null ? attribute.toEpochMilli() : null;
+    }
+
+    @Override
+    public Instant convertToEntityAttribute(Long dbData) {
+        return dbData != null ? Instant.ofEpochMilli(dbData) : null;
+    }
+
+}
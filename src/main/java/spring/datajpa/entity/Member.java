@@ -1,10 +1,20 @@
 package spring.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
+@Table(indexes = {
+        // findByUsername*, findByUsernameAndAgeGreaterThan, keyset 페이징 (username이 같은 행은 적어서 age는 인덱스 없이 걸러도 충분)
+        @Index(name = "idx_member_username_id", columnList = "username, member_id"),
+        @Index(name = "idx_member_age_username", columnList = "age, username"),         // findByPage(age = ? order by username), 벌크 update
+        @Index(name = "idx_member_team", columnList = "team_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Builder
 @AllArgsConstructor
@@ -15,13 +25,17 @@ import javax.persistence.*;
         query="select m from Member m where m.username = :username"
 )
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+@SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
 public class Member extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
     @Column(name = "member_id")
     private Long id;
 
+    @Version
+    private Long version;
+
     private String username;
 
     private int age;
@@ -39,4 +53,8 @@ public class Member extends BaseEntity {
         this.username = username;
     }
 
+    public void increaseAge() {
+        this.age++;
+    }
+
 }
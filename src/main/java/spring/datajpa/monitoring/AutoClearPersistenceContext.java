@@ -0,0 +1,13 @@
+package spring.datajpa.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 이 메서드(클래스) 안에서만 PersistenceContextGuard가 임계치에서 flush + clear
+// clear 이후 이전에 받은 엔티티는 준영속 -> 수정해도 반영되지 않으므로, 페이지 단위로 읽고 바로 처리하는 배치 작업에만 붙일 것
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AutoClearPersistenceContext {
+}
@@ -0,0 +1,113 @@
+package spring.datajpa.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.lang.ref.WeakReference;
+
+// 긴 트랜잭션에서 영속성 컨텍스트(엔티티 + dirty checking 스냅샷)가 끝없이 커지는 것을 감시
+// 리포지토리 호출 직전에 관리 중인 엔티티 수를 보고, 임계치를 넘으면 기본은 경고만
+// flush + clear는 @AutoClearPersistenceContext 범위 안에서만 (auto-clear=true면 전역, 비권장)
+// clear 이후에는 이전 호출에서 받은 엔티티가 준영속이 되어 수정이 조용히 유실되므로 서비스 코드 전체에 켜지 않음
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnProperty(name = "datajpa.persistence-context-guard.enabled", havingValue = "true", matchIfMissing = true)
+public class PersistenceContextGuard {
+
+    // 같은 세션에 대해 경고는 한 번만
+    // 약한 참조: 트랜잭션이 끝난 뒤에도 풀 스레드의 ThreadLocal이 세션(과 엔티티 전부)을 붙잡지 않게
+    private static final ThreadLocal<WeakReference<SessionImplementor>> WARNED_SESSION = new ThreadLocal<>();
+
+    // @AutoClearPersistenceContext 범위 안인지 (중첩 호출은 바깥 값을 복원)
+    private static final ThreadLocal<Boolean> AUTO_CLEAR_SCOPE = new ThreadLocal<>();
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final int maxManagedEntities;
+    private final boolean autoClear;
+    private final Counter cleared;
+    private final Counter warned;
+    private final DistributionSummary managedEntities;
+
+    public PersistenceContextGuard(EntityManagerFactory entityManagerFactory,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${datajpa.persistence-context-guard.max-managed-entities}") int maxManagedEntities,
+                                   @Value("${datajpa.persistence-context-guard.auto-clear}") boolean autoClear) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxManagedEntities = maxManagedEntities;
+        this.autoClear = autoClear;
+        this.cleared = Counter.builder("persistence.context.guard").tag("action", "clear").register(meterRegistry);
+        this.warned = Counter.builder("persistence.context.guard").tag("action", "warn").register(meterRegistry);
+        this.managedEntities = DistributionSummary.builder("persistence.context.managed.entities").register(meterRegistry);
+    }
+
+    @Around("@annotation(spring.datajpa.monitoring.AutoClearPersistenceContext)" +
+            " || @within(spring.datajpa.monitoring.AutoClearPersistenceContext)")
+    public Object autoClearScope(ProceedingJoinPoint joinPoint) throws Throwable {
+        Boolean previous = AUTO_CLEAR_SCOPE.get();
+        AUTO_CLEAR_SCOPE.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                AUTO_CLEAR_SCOPE.remove();
+            } else {
+                AUTO_CLEAR_SCOPE.set(previous);
+            }
+        }
+    }
+
+    @Before("this(spring.datajpa.repository.MemberRepository)" +
+            " || this(spring.datajpa.repository.TeamRepository)" +
+            " || this(spring.datajpa.repository.MemberJpaRepository)" +
+            " || this(spring.datajpa.repository.TeamJpaRepository)")
+    public void check(JoinPoint joinPoint) {
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (em == null || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        int managed = session.getPersistenceContextInternal().getNumberOfManagedEntities();
+        if (managed < maxManagedEntities) {
+            return;
+        }
+
+        managedEntities.record(managed);
+
+        if (!autoClear && AUTO_CLEAR_SCOPE.get() == null) {
+            warned.increment();
+            WeakReference<SessionImplementor> last = WARNED_SESSION.get();
+            if (last == null || last.get() != session) {
+                WARNED_SESSION.set(new WeakReference<>(session));
+                log.warn("persistence context holds {} entities (limit {}) before {}",
+                        managed, maxManagedEntities, joinPoint.getSignature().toShortString());
+            }
+            return;
+        }
+
+        // 읽기 전용 트랜잭션은 스냅샷이 없어서 flush할 게 없음
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            em.flush();
+        }
+        em.clear();
+        cleared.increment();
+        log.debug("flushed and cleared {} entities before {}", managed, joinPoint.getSignature().toShortString());
+    }
+
+}
@@ -0,0 +1,80 @@
+package spring.datajpa.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// 현재 스레드에서 진행 중인 리포지토리 호출 하나 동안 실행된 SQL / 로딩된 엔티티 수
+// 리포지토리 안에서 다른 리포지토리를 부르면 바깥 호출에 합산
+final class RepositoryInvocation {
+
+    private static final ThreadLocal<RepositoryInvocation> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entitiesLoaded;
+    private int maxRepeats;
+    private String mostRepeated;
+    private Map<String, Integer> statementCounts;
+
+    private RepositoryInvocation() {
+    }
+
+    // 이미 바깥 호출이 진행 중이면 null
+    static RepositoryInvocation begin() {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+
+        RepositoryInvocation invocation = new RepositoryInvocation();
+        CURRENT.set(invocation);
+
+        return invocation;
+    }
+
+    static void onStatement(String sql) {
+        RepositoryInvocation invocation = CURRENT.get();
+        if (invocation == null) {
+            return;
+        }
+
+        invocation.statements++;
+
+        // SQL이 실행된 호출에서만 맵을 만든다
+        if (invocation.statementCounts == null) {
+            invocation.statementCounts = new HashMap<>(4);
+        }
+        int repeats = invocation.statementCounts.merge(sql, 1, Integer::sum);
+        if (repeats > invocation.maxRepeats) {
+            invocation.maxRepeats = repeats;
+            invocation.mostRepeated = sql;
+        }
+    }
+
+    static void onEntityLoaded() {
+        RepositoryInvocation invocation = CURRENT.get();
+        if (invocation != null) {
+            invocation.entitiesLoaded++;
+        }
+    }
+
+    void end() {
+        CURRENT.remove();
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    // 같은 모양의 SQL이 가장 많이 반복된 횟수 (N+1 판단용)
+    int getMaxRepeats() {
+        return maxRepeats;
+    }
+
+    String getMostRepeated() {
+        return mostRepeated;
+    }
+
+}
@@ -0,0 +1,158 @@
+package spring.datajpa.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 리포지토리 메서드별 지연시간, 반환 행 수, 실행 SQL 수, 로딩 엔티티 수 + N+1 의심 호출 표시
+// meter는 (리포지토리, 메서드)별로 한 번만 만들어서 캐시 (호출마다 레지스트리 조회 X)
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnProperty(name = "datajpa.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    private final Map<Class<?>, Map<Method, MethodMeters>> meters = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry,
+                                   @Value("${datajpa.monitoring.n-plus-one-threshold}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Around("this(spring.datajpa.repository.MemberRepository)" +
+            " || this(spring.datajpa.repository.TeamRepository)" +
+            " || this(spring.datajpa.repository.MemberJpaRepository)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryInvocation invocation = RepositoryInvocation.begin();
+        if (invocation == null) {
+            return joinPoint.proceed();
+        }
+
+        long start = System.nanoTime();
+        Object result = null;
+        boolean success = false;
+        try {
+            result = joinPoint.proceed();
+            success = true;
+
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            invocation.end();
+
+            MethodMeters methodMeters = meters
+                    .computeIfAbsent(joinPoint.getThis().getClass(), type -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                            method -> new MethodMeters(repositoryName(joinPoint.getThis()), method.getName()));
+
+            methodMeters.record(elapsed, success, rows(result), invocation);
+        }
+    }
+
+    private static String repositoryName(Object proxy) {
+        for (Class<?> type : ClassUtils.getAllInterfaces(proxy)) {
+            if (type.getName().startsWith("spring.datajpa.repository.") && type.getSimpleName().endsWith("Repository")) {
+                return type.getSimpleName();
+            }
+        }
+
+        return ClassUtils.getUserClass(proxy).getSimpleName();
+    }
+
+    // 행 수를 알 수 없는 반환 타입(Stream, update 건수 등)은 -1
+    private static int rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof AutoCloseable) {
+            return -1;
+        }
+
+        return 1;
+    }
+
+    private class MethodMeters {
+
+        private final String repository;
+        private final String method;
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary rows;
+        private final DistributionSummary statements;
+        private final DistributionSummary entitiesLoaded;
+        private final Counter nPlusOne;
+
+        MethodMeters(String repository, String method) {
+            this.repository = repository;
+            this.method = method;
+            this.success = timer("success");
+            this.error = timer("error");
+            this.rows = summary("repository.rows");
+            this.statements = summary("repository.statements");
+            this.entitiesLoaded = summary("repository.entities.loaded");
+            this.nPlusOne = Counter.builder("repository.nplusone")
+                    .tags("repository", repository, "method", method)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder("repository.invocation")
+                    .tags("repository", repository, "method", method, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        private DistributionSummary summary(String name) {
+            return DistributionSummary.builder(name)
+                    .tags("repository", repository, "method", method)
+                    .register(meterRegistry);
+        }
+
+        void record(long elapsedNanos, boolean succeeded, int rowCount, RepositoryInvocation invocation) {
+            (succeeded ? success : error).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (rowCount >= 0) {
+                rows.record(rowCount);
+            }
+            statements.record(invocation.getStatements());
+            entitiesLoaded.record(invocation.getEntitiesLoaded());
+
+            if (invocation.getMaxRepeats() >= nPlusOneThreshold) {
+                nPlusOne.increment();
+                log.warn("N+1 suspected: {}.{} executed the same statement {} times: {}",
+                        repository, method, invocation.getMaxRepeats(), invocation.getMostRepeated());
+            }
+        }
+
+    }
+
+}
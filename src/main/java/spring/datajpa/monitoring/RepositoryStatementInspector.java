@@ -0,0 +1,15 @@
+package spring.datajpa.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// 하이버네이트가 JDBC statement를 준비할 때마다 호출됨 (p6spy가 꺼진 운영 프로파일에서도 동작)
+class RepositoryStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RepositoryInvocation.onStatement(sql);
+
+        return sql;
+    }
+
+}
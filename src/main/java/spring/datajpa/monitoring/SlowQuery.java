@@ -0,0 +1,18 @@
+package spring.datajpa.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class SlowQuery {
+
+    private final Instant executedAt;
+    private final long durationMillis;
+    private final String sql;
+    private final String sqlWithValues;     // 바인딩 값이 채워진 SQL
+    private final String plan;      // H2 EXPLAIN 결과 (explain 꺼져 있거나 대상이 아니면 null)
+
+}
@@ -0,0 +1,75 @@
+package spring.datajpa.monitoring;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// p6spy 이벤트 중 임계값을 넘은 것만 SlowQueryLog에 남김 (모든 SQL을 기록하지 않음)
+// EXPLAIN은 p6spy로 감싸지 않은 원본 커넥션에서 실행해서 이 리스너가 다시 호출되지 않게 함
+@Component
+@ConditionalOnProperty(name = "datajpa.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryListener extends SimpleJdbcEventListener {
+
+    private static final Pattern EXPLAINABLE = Pattern.compile("\\s*(select|with|update|delete|merge)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final SlowQueryLog slowQueryLog;
+    private final long thresholdNanos;
+    private final boolean explain;
+
+    public SlowQueryListener(SlowQueryLog slowQueryLog,
+                             @Value("${datajpa.slow-query.threshold-ms}") long thresholdMillis,
+                             @Value("${datajpa.slow-query.explain}") boolean explain) {
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.explain = explain;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (timeElapsedNanos < thresholdNanos) {
+            return;
+        }
+
+        String sql = statementInformation.getSql();
+        String plan = explain && EXPLAINABLE.matcher(sql).lookingAt()
+                ? explain(statementInformation.getConnectionInformation().getConnection(), sql)
+                : null;
+
+        slowQueryLog.add(new SlowQuery(Instant.now(), TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos),
+                sql, statementInformation.getSqlWithValues(), plan));
+    }
+
+    // 값이 채워진 SQL 문자열을 그대로 실행하지 않고 ? 그대로 준비한 뒤 null을 바인딩
+    // (H2는 prepare 시점에 실행 계획을 정하므로 바인딩 값과 무관하게 같은 계획이 나옴)
+    private static String explain(Connection connection, String sql) {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+
+            return plan.toString().trim();
+        } catch (SQLException ex) {
+            return "EXPLAIN failed: " + ex.getMessage();
+        }
+    }
+
+}
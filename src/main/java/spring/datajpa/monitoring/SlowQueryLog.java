@@ -0,0 +1,38 @@
+package spring.datajpa.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// 최근 느린 쿼리 N개만 보관하는 링 버퍼 (오래된 것부터 버림)
+@Component
+public class SlowQueryLog {
+
+    private final int capacity;
+    private final Deque<SlowQuery> entries;
+
+    public SlowQueryLog(@Value("${datajpa.slow-query.capacity}") int capacity) {
+        this.capacity = capacity;
+        this.entries = new ArrayDeque<>(capacity);
+    }
+
+    public synchronized void add(SlowQuery slowQuery) {
+        if (entries.size() == capacity) {
+            entries.removeFirst();
+        }
+        entries.addLast(slowQuery);
+    }
+
+    public synchronized List<SlowQuery> entries() {
+        return new ArrayList<>(entries);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+}
@@ -10,12 +10,13 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-@Transactional
+@Transactional(readOnly = true)
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    @Transactional
     public Member save(Member member) {
         em.persist(member);
 
@@ -37,11 +38,20 @@ public class MemberJpaRepository {
         return Optional.ofNullable(member);
     }
 
+    // id 순서로 limit건씩 (배치 작업에서 다음 페이지는 마지막 id부터)
+    public List<Member> findAfter(Long id, int limit) {
+        return em.createQuery("select m from Member m where m.id > :id order by m.id", Member.class)
+                .setParameter("id", id)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     public long count() {
         return em.createQuery("select count(m) from Member m", Long.class)
                 .getSingleResult();
     }
 
+    @Transactional
     public void delete(Member member) {
         em.remove(member);
     }
@@ -70,11 +80,13 @@ public class MemberJpaRepository {
 
     public long totalCount(int age) {
         return em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                .setParameter("age", age)
                 .getSingleResult();
     }
 
+    @Transactional
     public int bulkAgeIncrementMtAge(int age) {
-        return em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
+        return em.createQuery("update versioned Member m set m.age = m.age + 1 where m.age >= :age")
                 .setParameter("age", age)
                 .executeUpdate();
     }
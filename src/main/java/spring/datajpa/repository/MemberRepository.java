@@ -2,8 +2,10 @@ package spring.datajpa.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import spring.datajpa.dto.MemberDto;
 import spring.datajpa.entity.Member;
 
@@ -12,16 +14,20 @@ import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
+// 조회 메서드는 읽기 전용 트랜잭션 (스냅샷/flush 없음, 레플리카로 라우팅), 쓰기 메서드만 따로 @Transactional
+@Transactional(readOnly = true)
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
 
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
     @Query(name = "Member.findByUsername") // 없어도 알아서 인식함
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Member> findByUsername(@Param("username") String username);
 
     @Query("select m from Member m where m.username = :username and m.age = :age")
     List<Member> findUser(@Param("username") String username, @Param("age") int age);
 
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("select m.username from Member m")
     List<String> findUsernameList();
 
@@ -33,6 +39,9 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 
     List<Member> findListByUsername(String username);   //컬렉션
 
+    @Query("select m.id from Member m where m.username = :username order by m.id")
+    List<Long> findIdsByUsername(@Param("username") String username);
+
     Member findMemberByUsername(String username);   //단건
 
     Optional<Member> findOptionalMemberByUsername(String username); //단건 optional
@@ -41,8 +50,30 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
             countQuery = "select count(m) from Member m")
     Page<Member> findByAge(int age, Pageable pageable);
 
+    // 목록 API용: team을 left join해서 DTO로 바로 조회 (N+1 없음)
+    @Query(value = "select new spring.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t",
+            countQuery = "select count(m) from Member m")
+    Page<MemberDto> findMemberDtoPage(Pageable pageable);
+
+    // count 없이 size + 1건을 읽어서 다음 페이지 여부만 판단
+    @Query("select new spring.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t")
+    Slice<MemberDto> findMemberDtoSlice(Pageable pageable);
+
+    // keyset 페이징: offset 없이 (username, id) 다음부터 읽고, count 쿼리도 없음
+    // username이 null인 member는 >= 비교로 이어갈 수 없으므로 첫 페이지부터 제외
+    @Query("select new spring.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t" +
+            " where m.username is not null" +
+            " order by m.username, m.id")
+    List<MemberDto> findMemberDtoFirstPage(Pageable pageable);
+
+    @Query("select new spring.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t" +
+            " where m.username >= :username and (m.username > :username or m.id > :id)" +
+            " order by m.username, m.id")
+    List<MemberDto> findMemberDtoAfter(@Param("username") String username, @Param("id") Long id, Pageable pageable);
+
+    @Transactional
     @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    @Query("update versioned Member m set m.age = m.age + 1 where m.age >= :age")
     int bulkAgeIncrementMtAge(@Param("age") int age);
 
     @Query("select m from Member m left join fetch m.team")
@@ -62,6 +93,7 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findReadOnlyByUsername(String username);
 
+    @Transactional  // select ... for update는 primary에서
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<Member> findLockByUsername(String username);
 
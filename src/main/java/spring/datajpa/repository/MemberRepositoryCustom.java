@@ -2,10 +2,19 @@ package spring.datajpa.repository;
 
 import spring.datajpa.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
 
+    long saveAllBatched(Iterable<Member> members, int batchSize);
+
+    long scrollAll(int fetchSize, Consumer<Member> consumer);
+
+    // 트랜잭션 밖에서 부르면 청크마다 별도 트랜잭션에서 병렬 조회 -> 돌려받은 엔티티는 준영속 (지연 로딩 불가, 수정해도 반영 안 됨)
+    List<Member> findByNamesInChunks(Collection<String> names);
+
 }
@@ -1,20 +1,153 @@
 package spring.datajpa.repository;
 
-import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.datajpa.config.BatchDateTimeProvider;
 import spring.datajpa.entity.Member;
 
 import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    // 2의 거듭제곱이라 in_clause_parameter_padding을 해도 꽉 찬 청크는 그대로
+    private static final int IN_CHUNK_SIZE = 512;
+
     private final EntityManager em;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolTaskExecutor repositoryExecutor;
+    private final BatchDateTimeProvider dateTimeProvider;
+
+    public MemberRepositoryImpl(EntityManager em,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("repositoryExecutor") ThreadPoolTaskExecutor repositoryExecutor,
+                                BatchDateTimeProvider dateTimeProvider) {
+        this.em = em;
+        this.transactionManager = transactionManager;
+        this.repositoryExecutor = repositoryExecutor;
+        this.dateTimeProvider = dateTimeProvider;
+    }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m", Member.class)
                 .getResultList();
     }
 
+    // 대량 적재: batchSize마다 flush/clear해서 영속성 컨텍스트가 입력 크기만큼 커지지 않게 함
+    // (호출한 쪽 트랜잭션의 영속성 컨텍스트도 함께 비워진다)
+    @Override
+    @Transactional
+    public long saveAllBatched(Iterable<Member> members, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+
+        Session session = em.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+
+        long count = 0;
+        // 감사 시각은 flush 배치마다 한 번만 구함
+        try (BatchDateTimeProvider.Pin pin = dateTimeProvider.pin(Instant.now())) {
+            for (Member member : members) {
+                em.persist(member);
+
+                if (++count % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                    pin.repin(Instant.now());
+                }
+            }
+
+            em.flush();
+            em.clear();
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+
+        return count;
+    }
+
+    // 전체 조회를 List로 올리지 않고 forward-only 커서로 한 건씩 넘김
+    // 넘긴 member는 바로 detach해서 영속성 컨텍스트가 커지지 않게 함 (consumer 밖으로 들고 나가지 말 것)
+    @Override
+    @Transactional(readOnly = true)
+    public long scrollAll(int fetchSize, Consumer<Member> consumer) {
+        Session session = em.unwrap(Session.class);
+
+        long count = 0;
+        try (ScrollableResults results = session
+                .createQuery("select m from Member m left join fetch m.team", Member.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+
+            while (results.next()) {
+                Member member = (Member) results.get(0);
+                consumer.accept(member);
+                session.detach(member);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    // 큰 IN 목록은 IN_CHUNK_SIZE씩 나눠 조회 후 합침
+    // 트랜잭션 밖에서 부르면 청크별 읽기 전용 트랜잭션으로 병렬 실행 (결과는 준영속 상태)
+    // 트랜잭션 안에서 부르면 호출한 쪽 영속성 컨텍스트에서 순서대로 실행
+    @Override
+    public List<Member> findByNamesInChunks(Collection<String> names) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(names));
+        if (distinct.size() <= IN_CHUNK_SIZE) {
+            return findByNamesChunk(distinct);
+        }
+
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += IN_CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + IN_CHUNK_SIZE, distinct.size())));
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return chunks.stream()
+                    .flatMap(chunk -> findByNamesChunk(chunk).stream())
+                    .collect(Collectors.toList());
+        }
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<CompletableFuture<List<Member>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> readOnly.execute(status -> findByNamesChunk(chunk)), repositoryExecutor))
+                .collect(Collectors.toList());
+
+        return futures.stream()
+                .flatMap(future -> future.join().stream())
+                .collect(Collectors.toList());
+    }
+
+    private List<Member> findByNamesChunk(List<String> names) {
+        return em.createQuery("select m from Member m where m.username in :names", Member.class)
+                .setParameter("names", names)
+                .getResultList();
+    }
+
 }
@@ -0,0 +1,84 @@
+package spring.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+// 목록 API용 JDBC 조회: ResultSet 한 행을 바로 콜백으로 넘김 (엔티티, 스냅샷, 프록시, DTO 객체 없음)
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MemberRowRepository {
+
+    // 정렬 가능한 속성 (MemberDto 필드 -> 컬럼), 그 외는 SQL에 넣지 않음
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "m.member_id",
+            "username", "m.username",
+            "teamName", "t.name");
+
+    @FunctionalInterface
+    public interface RowHandler {
+
+        void row(long id, String username, String teamName) throws IOException;
+
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 읽은 행 수 반환
+    public int forEachRow(Pageable pageable, RowHandler handler) {
+        int[] rows = {0};
+        RowCallbackHandler callback = rs -> {
+            try {
+                handler.row(rs.getLong(1), rs.getString(2), rs.getString(3));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        };
+
+        jdbcTemplate.query("select m.member_id, m.username, t.name from member m left join team t on t.team_id = m.team_id"
+                        + orderBy(pageable.getSort()) + " limit ? offset ?",
+                callback, pageable.getPageSize(), pageable.getOffset());
+
+        return rows[0];
+    }
+
+    // 지원하지 않는 정렬이면 IllegalArgumentException (응답을 쓰기 전에 확인용)
+    public void checkSortable(Sort sort) {
+        orderBy(sort);
+    }
+
+    public long count() {
+        return jdbcTemplate.queryForObject("select count(*) from member", Long.class);
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+
+        StringBuilder sql = new StringBuilder(" order by ");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("cannot sort members by " + order.getProperty());
+            }
+            if (sql.length() > " order by ".length()) {
+                sql.append(", ");
+            }
+            sql.append(column).append(order.isAscending() ? " asc" : " desc");
+        }
+
+        return sql.toString();
+    }
+
+}
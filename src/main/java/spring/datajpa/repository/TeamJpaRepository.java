@@ -1,7 +1,7 @@
 package spring.datajpa.repository;
 
 import org.springframework.stereotype.Repository;
-import spring.datajpa.entity.Member;
+import org.springframework.transaction.annotation.Transactional;
 import spring.datajpa.entity.Team;
 
 import javax.persistence.EntityManager;
@@ -10,17 +10,20 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public class TeamJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    @Transactional
     public Team save(Team team) {
         em.persist(team);
 
         return team;
     }
 
+    @Transactional
     public void delete(Team team) {
         em.remove(team);
     }
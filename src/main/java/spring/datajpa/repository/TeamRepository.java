@@ -1,7 +1,19 @@
 package spring.datajpa.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import spring.datajpa.dto.TeamMemberCountDto;
 import spring.datajpa.entity.Team;
 
+import java.util.List;
+
+@Transactional(readOnly = true)
 public interface TeamRepository extends JpaRepository<Team, Long> {
+
+    // 목록 화면용: 멤버 컬렉션을 로딩하지 않고 집계 쿼리 한 번으로 멤버 수만 조회
+    @Query("select new spring.datajpa.dto.TeamMemberCountDto(t.id, t.name, count(m))" +
+            " from Team t left join t.members m group by t.id, t.name")
+    List<TeamMemberCountDto> findTeamMemberCounts();
+
 }
@@ -1,10 +1,14 @@
 package spring.datajpa.repository;
 
-import org.springframework.beans.factory.annotation.Value;
-
 public interface UsernameOnly {
 
-    @Value("#{target.username + ' ' + target.age}")
     String getUsername();
+    int getAge();
+
+    // @Value SpEL(열린 프로젝션) 대신 default 메서드로 계산
+    // -> 닫힌 프로젝션이 되어 엔티티 전체가 아니라 username, age만 조회함
+    default String getUsernameWithAge() {
+        return getUsername() + " " + getAge();
+    }
 
 }
@@ -0,0 +1,62 @@
+package spring.datajpa.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.datajpa.dto.MemberDto;
+import spring.datajpa.entity.Team;
+import spring.datajpa.repository.MemberRepository;
+import spring.datajpa.repository.TeamRepository;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// 서로 의존하지 않는 조회를 repositoryExecutor에서 동시에 실행 (지연 시간이 더해지지 않고 가장 느린 것 하나로)
+// 호출마다 자기 스레드에서 읽기 전용 트랜잭션 + EntityManager를 새로 염
+// 동시 실행 수는 풀 크기(커넥션 풀 이하)로 제한되고, 큐가 차면 호출한 스레드가 직접 실행 (back-pressure)
+// 반환된 엔티티는 준영속 상태이므로 지연 로딩 연관은 supply 안에서 꺼낼 것
+@Component
+public class AsyncRepositoryFacade {
+
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final ThreadPoolTaskExecutor repositoryExecutor;
+    private final TransactionTemplate readOnly;
+
+    public AsyncRepositoryFacade(MemberRepository memberRepository,
+                                 TeamRepository teamRepository,
+                                 @Qualifier("repositoryExecutor") ThreadPoolTaskExecutor repositoryExecutor,
+                                 PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.teamRepository = teamRepository;
+        this.repositoryExecutor = repositoryExecutor;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> readOnly.execute(status -> query.get()), repositoryExecutor);
+    }
+
+    public CompletableFuture<Optional<MemberDto>> findMember(Long id) {
+        return supply(() -> memberRepository.findById(id).map(MemberDto::new));
+    }
+
+    public CompletableFuture<Optional<Team>> findTeam(Long id) {
+        return supply(() -> teamRepository.findById(id));
+    }
+
+    public CompletableFuture<Long> countMembers() {
+        return supply(memberRepository::count);
+    }
+
+    public CompletableFuture<Long> countTeams() {
+        return supply(teamRepository::count);
+    }
+
+}
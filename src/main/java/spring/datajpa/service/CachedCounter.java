@@ -0,0 +1,70 @@
+package spring.datajpa.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+// 페이지 total용 count 결과를 staleness 동안 재사용
+// 처음 한 번만 동기로 세고, 그 뒤로는 오래된 값을 바로 돌려주면서 백그라운드(repositoryExecutor)에서 한 번만 다시 셈
+@Slf4j
+@Component
+public class CachedCounter {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final long stalenessNanos;
+
+    public CachedCounter(@Qualifier("repositoryExecutor") Executor executor,
+                         @Value("${datajpa.cached-count.staleness-ms}") long stalenessMillis) {
+        this.executor = executor;
+        this.stalenessNanos = TimeUnit.MILLISECONDS.toNanos(stalenessMillis);
+    }
+
+    public long get(String key, LongSupplier count) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return entries.computeIfAbsent(key, k -> new Entry(count.getAsLong())).value;
+        }
+
+        if (System.nanoTime() - entry.loadedAt >= stalenessNanos && entry.refreshing.compareAndSet(false, true)) {
+            executor.execute(() -> refresh(key, entry, count));
+        }
+
+        return entry.value;
+    }
+
+    public void evict(String key) {
+        entries.remove(key);
+    }
+
+    private void refresh(String key, Entry stale, LongSupplier count) {
+        try {
+            entries.replace(key, stale, new Entry(count.getAsLong()));
+        } catch (RuntimeException e) {
+            // 실패하면 이전 값을 계속 쓰고 다음 요청에서 다시 시도
+            stale.refreshing.set(false);
+            log.warn("count refresh failed for {}", key, e);
+        }
+    }
+
+    private static class Entry {
+
+        private final long value;
+        private final long loadedAt = System.nanoTime();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(long value) {
+            this.value = value;
+        }
+
+    }
+
+}
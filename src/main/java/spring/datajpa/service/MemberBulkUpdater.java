@@ -0,0 +1,160 @@
+package spring.datajpa.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.datajpa.entity.Member;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// MemberRepository.bulkAgeIncrementMtAge를 id 단위 chunk로 쪼개서 병렬로 실행
+// - 대상 id를 keyset(id > 마지막 id)으로 chunkSize씩 읽음 -> id가 듬성해도 빈 구간 없이 chunk마다 chunkSize행
+// - chunk마다 별도 트랜잭션으로 커밋 -> 한 번에 잡는 락은 chunkSize 행까지만
+// - 호출한 쪽 영속성 컨텍스트는 건드리지 않고, 2차 캐시도 실제로 바꾼 id + 쿼리 캐시만 비움
+@Component
+public class MemberBulkUpdater {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final EntityManagerFactory emf;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxParallelism;
+
+    public MemberBulkUpdater(EntityManagerFactory emf, PlatformTransactionManager transactionManager,
+                             @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.emf = emf;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // 작업 스레드마다 커넥션 하나: 풀보다 많으면 풀 대기만 늘어남 (id를 읽는 호출 스레드 몫으로 하나 남김)
+        this.maxParallelism = Math.max(poolSize - 1, 1);
+    }
+
+    public Result incrementAgeFrom(int age, int chunkSize, int parallelism, ProgressListener listener) {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("chunkSize and parallelism must be positive");
+        }
+
+        long start = System.nanoTime();
+
+        Long count = transactionTemplate.execute(status -> em
+                .createQuery("select count(m) from Member m where m.age >= :age", Long.class)
+                .setParameter("age", age)
+                .getSingleResult());
+        if (count == null || count == 0) {
+            return new Result(0, 0, Duration.ZERO, Duration.ZERO);
+        }
+
+        // 진행률 표시용 예상치 (실행 중 추가/삭제된 행은 반영 안 됨)
+        int expectedChunks = (int) Math.min((count + chunkSize - 1) / chunkSize, Integer.MAX_VALUE);
+
+        AtomicLong updatedRows = new AtomicLong();
+        AtomicLong maxChunkNanos = new AtomicLong();
+        AtomicInteger completedChunks = new AtomicInteger();
+        int chunks = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, maxParallelism));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long lastId = Long.MIN_VALUE;
+            List<Long> ids;
+            while (!(ids = nextIds(age, lastId, chunkSize)).isEmpty()) {
+                List<Long> chunk = ids;
+                lastId = chunk.get(chunk.size() - 1);
+                chunks++;
+
+                futures.add(executor.submit(() -> {
+                    long chunkStart = System.nanoTime();
+                    int updated = updateChunk(age, chunk.get(0), chunk.get(chunk.size() - 1));
+                    maxChunkNanos.accumulateAndGet(System.nanoTime() - chunkStart, Math::max);
+
+                    evict(chunk);
+                    int done = completedChunks.incrementAndGet();
+                    listener.onChunk(done, Math.max(done, expectedChunks), updatedRows.addAndGet(updated));
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            // 이미 커밋된 chunk는 그대로 남음
+            throw new IllegalStateException("bulk age update failed after " + completedChunks.get() + " chunks", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("bulk age update interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new Result(updatedRows.get(), chunks,
+                Duration.ofNanos(System.nanoTime() - start), Duration.ofNanos(maxChunkNanos.get()));
+    }
+
+    private List<Long> nextIds(int age, long lastId, int chunkSize) {
+        return transactionTemplate.execute(status -> em
+                .createQuery("select m.id from Member m where m.age >= :age and m.id > :lastId order by m.id", Long.class)
+                .setParameter("age", age)
+                .setParameter("lastId", lastId)
+                .setMaxResults(chunkSize)
+                .getResultList());
+    }
+
+    // 읽어 둔 id의 처음~끝 구간: 그 사이의 대상 행은 읽은 id뿐이라 IN 목록 없이 인덱스 범위로 update
+    private int updateChunk(int age, long from, long to) {
+        return transactionTemplate.execute(status -> em
+                .createNativeQuery("update member set age = age + 1, version = version + 1" +
+                        " where age >= :age and member_id between :from and :to")
+                .unwrap(NativeQuery.class)
+                // 빈 query space: 하이버네이트가 2차 캐시 리전 전체를 비우지 않게 함 (아래 evict에서 직접 처리)
+                .addSynchronizedQuerySpace("")
+                .setParameter("age", age)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .executeUpdate());
+    }
+
+    // 커밋 이후에 비워야 다른 트랜잭션이 예전 값을 다시 캐시에 올리지 않음
+    private void evict(List<Long> ids) {
+        Cache cache = emf.getCache();
+        for (Long id : ids) {
+            cache.evict(Member.class, id);
+        }
+        cache.unwrap(org.hibernate.Cache.class).evictDefaultQueryRegion();
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        void onChunk(int completedChunks, int totalChunks, long updatedRows);
+
+    }
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Result {
+
+        private final long updatedRows;
+        private final int chunks;
+        private final Duration elapsed;
+        private final Duration maxChunkTime;    // 한 트랜잭션이 락을 잡고 있던 최대 시간
+
+    }
+
+}
@@ -0,0 +1,199 @@
+package spring.datajpa.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+// findByUsername 계열 조회용 near cache: username -> member id 목록 (Caffeine, W-TinyLFU + TTL)
+// 같은 키로 동시에 미스가 나면 조회는 한 번만 (나머지는 그 결과를 기다림)
+// 엔티티는 id로 em.find -> 2차 캐시(Member 리전)에서 꺼내고, username이 실제로 같은 것만 돌려줌
+// id 목록은 힌트일 뿐이라, 아직 커밋되지 않은 변경이 잠깐 캐시에 들어가도 다른 스레드에 잘못된 member가 나가지 않음
+// insert / username 변경 / delete 시 flush 시점과 트랜잭션 완료 후에 해당 username을 무효화
+// bulk update(JPQL/네이티브)는 리스너를 거치지 않음 -> username을 바꾸는 bulk 쿼리를 추가하면 invalidateAll() 호출할 것
+@Component
+@Transactional(readOnly = true)
+public class MemberUsernameCache {
+
+    private final MemberRepository memberRepository;
+    private final AsyncCache<String, List<Long>> ids;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public MemberUsernameCache(MemberRepository memberRepository,
+                               EntityManagerFactory entityManagerFactory,
+                               MeterRegistry meterRegistry,
+                               @Value("${datajpa.username-cache.maximum-size}") long maximumSize,
+                               @Value("${datajpa.username-cache.expire-after-write-ms}") long expireAfterWriteMillis) {
+        this.memberRepository = memberRepository;
+        this.ids = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMillis))
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, ids.synchronous(), "member.username");
+        registerListeners(entityManagerFactory.unwrap(SessionFactoryImplementor.class));
+    }
+
+    public List<Long> findIdsByUsername(String username) {
+        // 캐시 키로 null을 쓸 수 없음, 리포지토리의 username = null 조회와 같게 빈 결과
+        if (username == null) {
+            return List.of();
+        }
+
+        CompletableFuture<List<Long>> cached = ids.getIfPresent(username);
+        if (cached != null) {
+            return join(cached);
+        }
+
+        // 조회는 캐시 락 밖에서 (조회 전 auto flush가 리스너를 통해 이 캐시를 무효화할 수 있음)
+        // 먼저 자리를 잡은 스레드만 조회하고, 같은 키의 다른 스레드는 그 future를 기다림
+        CompletableFuture<List<Long>> loading = new CompletableFuture<>();
+        CompletableFuture<List<Long>> existing = ids.asMap().putIfAbsent(username, loading);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            List<Long> loaded = List.copyOf(memberRepository.findIdsByUsername(username));
+            loading.complete(loaded);
+
+            return loaded;
+        } catch (RuntimeException e) {
+            ids.asMap().remove(username, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public List<Member> findListByUsername(String username) {
+        List<Long> memberIds = findIdsByUsername(username);
+
+        // em.find: 영속성 컨텍스트 -> 2차 캐시 -> DB 순서
+        return memberIds.stream()
+                .map(id -> em.find(Member.class, id))
+                .filter(Objects::nonNull)
+                .filter(member -> username.equals(member.getUsername()))
+                .collect(Collectors.toList());
+    }
+
+    public Optional<Member> findOptionalMemberByUsername(String username) {
+        List<Member> members = findListByUsername(username);
+        if (members.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, members.size());
+        }
+
+        return members.stream().findFirst();
+    }
+
+    public Member findMemberByUsername(String username) {
+        return findOptionalMemberByUsername(username).orElse(null);
+    }
+
+    public void invalidateAll() {
+        ids.synchronous().invalidateAll();
+    }
+
+    private static List<Long> join(CompletableFuture<List<Long>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void registerListeners(SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, new UsernameListener());
+        registry.appendListeners(EventType.POST_UPDATE, new UsernameListener());
+        registry.appendListeners(EventType.POST_DELETE, new UsernameListener());
+    }
+
+    private class UsernameListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Member) {
+                invalidate(event.getSession(), ((Member) event.getEntity()).getUsername());
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (!(event.getEntity() instanceof Member)) {
+                return;
+            }
+
+            int index = event.getPersister().getEntityMetamodel().getPropertyIndex("username");
+            Object[] oldState = event.getOldState();
+            if (oldState == null) {
+                // 이전 값을 모르는 경우(준영속 엔티티 update)는 전체 무효화
+                invalidateAll();
+                event.getSession().getActionQueue().registerProcess((success, session) -> invalidateAll());
+                return;
+            }
+
+            if (!Objects.equals(oldState[index], event.getState()[index])) {
+                invalidate(event.getSession(), (String) oldState[index]);
+                invalidate(event.getSession(), (String) event.getState()[index]);
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Member) {
+                invalidate(event.getSession(), ((Member) event.getEntity()).getUsername());
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+
+        // 지금 한 번, 트랜잭션이 끝난 뒤(커밋/롤백) 한 번: 그 사이에 다시 채워진 값도 지움
+        private void invalidate(EventSource session, String username) {
+            if (username == null) {
+                return;
+            }
+
+            ids.synchronous().invalidate(username);
+            session.getActionQueue().registerProcess((success, s) -> ids.synchronous().invalidate(username));
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+-- 운영 프로파일(ddl-auto: none)로 올리기 전에, 기존 스키마(ddl-auto: create로 만든 H2 DB)에 한 번 실행
+-- 엔티티 매핑 변경에 맞춤:
+--   1. member_seq / team_seq (pooled, allocationSize = 50)   <- 기존 @GeneratedValue의 hibernate_sequence
+--   2. version 컬럼 (@Version, 낙관적 락)
+--   3. created_date / last_modified_date: timestamp -> epoch millis bigint (EpochMillisConverter)
+--   4. member 인덱스 (@Table(indexes))
+-- 실행: java -cp h2.jar org.h2.tools.RunScript -url jdbc:h2:tcp://localhost/~/datajpa -user sa -script prod-upgrade.sql
+
+-- 1. 시퀀스: pooled 옵티마이저는 시퀀스 값 v에서 (v - 49 .. v] 를 쓰므로 v = max(id) + 50 부터
+create sequence if not exists member_seq start with 1 increment by 50;
+create sequence if not exists team_seq start with 1 increment by 50;
+alter sequence member_seq restart with (select coalesce(max(member_id), 0) + 50 from member);
+alter sequence team_seq restart with (select coalesce(max(team_id), 0) + 50 from team);
+
+-- 2. version: 기존 행은 0부터 (null이면 하이버네이트가 새 엔티티로 봄)
+alter table member add column if not exists version bigint default 0 not null;
+alter table team add column if not exists version bigint default 0 not null;
+
+-- 3. 감사 시각: 기존 timestamp는 애플리케이션 JVM 기본 타임존의 로컬 시각으로 들어가 있음
+--    아래 변환은 UTC로 간주 -> 서버 타임존이 UTC가 아니었다면 '1970-01-01 00:00:00'을 그 타임존의 epoch 시각으로 바꿀 것 (KST: '1970-01-01 09:00:00')
+alter table member add column created_date_ms bigint;
+alter table member add column last_modified_date_ms bigint;
+update member set created_date_ms = datediff('MILLISECOND', timestamp '1970-01-01 00:00:00', created_date),
+                  last_modified_date_ms = datediff('MILLISECOND', timestamp '1970-01-01 00:00:00', last_modified_date);
+alter table member drop column created_date;
+alter table member drop column last_modified_date;
+alter table member alter column created_date_ms rename to created_date;
+alter table member alter column last_modified_date_ms rename to last_modified_date;
+
+alter table team add column created_date_ms bigint;
+alter table team add column last_modified_date_ms bigint;
+update team set created_date_ms = datediff('MILLISECOND', timestamp '1970-01-01 00:00:00', created_date),
+                last_modified_date_ms = datediff('MILLISECOND', timestamp '1970-01-01 00:00:00', last_modified_date);
+alter table team drop column created_date;
+alter table team drop column last_modified_date;
+alter table team alter column created_date_ms rename to created_date;
+alter table team alter column last_modified_date_ms rename to last_modified_date;
+
+-- 4. 인덱스
+create index if not exists idx_member_username_id on member (username, member_id);
+create index if not exists idx_member_age_username on member (age, username);
+create index if not exists idx_member_team on member (team_id);
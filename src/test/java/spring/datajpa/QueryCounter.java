@@ -0,0 +1,36 @@
+package spring.datajpa;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// p6spy가 감싼 DataSource에서 실행된 SQL 수와 실행한 스레드를 센다 (@Import로 등록)
+public class QueryCounter extends SimpleJdbcEventListener {
+
+    private final AtomicLong count = new AtomicLong();
+    private final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        count.incrementAndGet();
+        threadNames.add(Thread.currentThread().getName());
+    }
+
+    public void reset() {
+        count.set(0);
+        threadNames.clear();
+    }
+
+    public Set<String> getThreadNames() {
+        return Set.copyOf(threadNames);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+}
@@ -0,0 +1,45 @@
+package spring.datajpa;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.datajpa.config.RepositoryWarmup;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 기동 시간(run 호출 ~ ready)과 첫 요청 지연 측정, 쿼리 warm-up이 ready 전에 끝났는지 확인
+class StartupTest {
+
+    @Test
+    public void startupAndFirstRequest() throws Exception {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1", "--server.port=0")) {
+            long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/members?page=0&size=20")).build();
+
+            long requestStart = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long firstRequestMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStart);
+
+            System.out.println("startup = " + startupMillis + " ms, first request = " + firstRequestMillis + " ms");
+
+            RepositoryWarmup warmup = context.getBean(RepositoryWarmup.class);
+            assertThat(context.getBean(ApplicationAvailability.class).getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+            assertThat(warmup.getWarmedUp()).contains("findByUsername", "findMemberDtoPage", "findMemberDtoAfter");
+            assertThat(response.statusCode()).isEqualTo(200);
+        }
+    }
+
+}
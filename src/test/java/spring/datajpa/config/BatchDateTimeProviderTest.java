@@ -0,0 +1,33 @@
+package spring.datajpa.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchDateTimeProviderTest {
+
+    BatchDateTimeProvider provider = new BatchDateTimeProvider();
+
+    @Test
+    public void nestedPinRestoresOuterTime() {
+        // given
+        Instant outer = Instant.parse("2021-01-01T00:00:00Z");
+        Instant inner = Instant.parse("2021-01-02T00:00:00Z");
+
+        try (BatchDateTimeProvider.Pin outerPin = provider.pin(outer)) {
+            // when
+            try (BatchDateTimeProvider.Pin innerPin = provider.pin(inner)) {
+                assertThat(provider.getNow()).contains(inner);
+            }
+
+            // then
+            // 안쪽 pin이 닫혀도 바깥 호출의 시각은 그대로
+            assertThat(provider.getNow()).contains(outer);
+        }
+
+        assertThat(provider.getNow().get()).isNotIn(outer, inner);
+    }
+
+}
@@ -0,0 +1,65 @@
+package spring.datajpa.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.FilterChain;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(3, 0, Map.of("/members/*/overview", 3));
+
+    @Test
+    public void fanOutPathTakesWeightedPermits() throws Exception {
+        // given
+        int[] nested = new int[1];
+
+        // when: overview가 처리되는 동안 다른 요청
+        filter.doFilter(request("/members/1/overview"), new MockHttpServletResponse(),
+                (req, res) -> nested[0] = send("/members"));
+
+        // then
+        // overview 하나가 permit 3개를 모두 가져감
+        assertThat(nested[0]).isEqualTo(503);
+        assertThat(send("/members")).isEqualTo(200);
+    }
+
+    @Test
+    public void asyncRequestHoldsPermitUntilComplete() throws Exception {
+        // given
+        MockHttpServletRequest request = request("/members/1/overview");
+        request.setAsyncSupported(true);
+        AsyncContext[] async = new AsyncContext[1];
+
+        // when
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> async[0] = req.startAsync());
+
+        // then
+        // 첫 디스패치가 끝나도 비동기 처리가 끝날 때까지 반납하지 않음
+        assertThat(send("/members")).isEqualTo(503);
+        async[0].complete();
+        assertThat(send("/members")).isEqualTo(200);
+    }
+
+    private int send(String uri) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain ok = (req, res) -> { };
+        try {
+            filter.doFilter(request(uri), response, ok);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+}
@@ -0,0 +1,115 @@
+package spring.datajpa.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "datajpa.replica.enabled=true",
+        "datajpa.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@Import(ReplicaRoutingTest.ReadThenWriteController.class)
+class ReplicaRoutingTest {
+
+    // 한 요청 안에서 읽기 전용 조회 후 저장
+    @RestController
+    static class ReadThenWriteController {
+
+        private final MemberRepository memberRepository;
+
+        ReadThenWriteController(MemberRepository memberRepository) {
+            this.memberRepository = memberRepository;
+        }
+
+        @PostMapping("/test/read-then-write")
+        public int readThenWrite() {
+            int fromReplica = memberRepository.findListByUsername("replica-only").size();
+            memberRepository.save(Member.builder().username("written-in-request").build());
+
+            return fromReplica;
+        }
+
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replicaDataSource;
+
+    @BeforeEach
+    void copySchemaToReplica() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+
+        replica.execute("drop all objects");
+        primary.queryForList("script nodata", String.class).stream()
+                .filter(sql -> !sql.startsWith("--") && !sql.startsWith("CREATE USER"))
+                .forEach(replica::execute);
+
+        // 레플리카에만 있는 행으로 어느 쪽에서 읽었는지 구분
+        replica.update("insert into member (member_id, version, age, username) values (999999, 0, 1, 'replica-only')");
+    }
+
+    @Test
+    public void readOnlyTransactionGoesToReplica() {
+        // 리포지토리 기본값(readOnly = true) -> replica
+        assertThat(memberRepository.findListByUsername("replica-only")).hasSize(1);
+
+        // 쓰기 트랜잭션 안에서는 primary
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        Integer fromPrimary = readWrite.execute(status -> memberRepository.findListByUsername("replica-only").size());
+        assertThat(fromPrimary).isEqualTo(0);
+    }
+
+    @Test
+    public void readThenWriteInOneRequest() throws Exception {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+
+        try {
+            // 조회는 레플리카, 이어지는 저장은 primary (요청 단위로 커넥션이 고정되지 않음)
+            mockMvc.perform(post("/test/read-then-write"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("1"));
+
+            assertThat(primary.queryForObject("select count(*) from member where username = 'written-in-request'", Long.class)).isEqualTo(1);
+            assertThat(replica.queryForObject("select count(*) from member where username = 'written-in-request'", Long.class)).isZero();
+        } finally {
+            primary.update("delete from member where username = 'written-in-request'");
+        }
+    }
+
+}
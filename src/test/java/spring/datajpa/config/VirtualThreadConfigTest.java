@@ -0,0 +1,31 @@
+package spring.datajpa.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadConfigTest {
+
+    @Test
+    public void activeOnlyOnSupportedJdk() throws Exception {
+        // when
+        ExecutorService executor = VirtualThreadConfig.newVirtualThreadExecutor();
+
+        // then
+        if (Runtime.version().feature() < VirtualThreadConfig.MIN_FEATURE_VERSION) {
+            // 설정을 켜도 JDK가 지원하지 않으면 기존 플랫폼 스레드 풀 유지
+            assertThat(executor).isNull();
+            return;
+        }
+
+        try {
+            String thread = executor.submit(() -> Thread.currentThread().toString()).get();
+            assertThat(thread).startsWith("VirtualThread");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
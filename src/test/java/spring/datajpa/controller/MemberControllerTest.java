@@ -0,0 +1,132 @@
+package spring.datajpa.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import spring.datajpa.entity.Member;
+import spring.datajpa.entity.Team;
+import spring.datajpa.repository.MemberRepository;
+import spring.datajpa.repository.TeamRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void cachedTotal() throws Exception {
+        // given
+        for (int i = 1; i <= 4; i++) {
+            memberRepository.save(Member.builder().username("cached" + i).build());
+        }
+        em.flush();
+        int total = (int) memberRepository.count();
+
+        // 마지막 페이지가 꽉 참: look-ahead가 비었으므로 정확한 total
+        mockMvc.perform(get("/members").param("count", "cached").param("page", "0").param("size", String.valueOf(total)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(total))
+                .andExpect(jsonPath("$.last").value(true));
+
+        // 다음 페이지가 있음: 최소한 다음 페이지 한 건까지
+        mockMvc.perform(get("/members").param("count", "cached").param("page", "0").param("size", String.valueOf(total - 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", greaterThanOrEqualTo(total)))
+                .andExpect(jsonPath("$.last").value(false));
+
+        // 끝을 넘어선 빈 페이지: offset보다 큰 total을 만들지 않음
+        mockMvc.perform(get("/members").param("count", "cached").param("page", "1").param("size", String.valueOf(total)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.totalElements", lessThanOrEqualTo(total)));
+    }
+
+    @Test
+    public void compactRejectsUnsupportedSort() throws Exception {
+        // 정렬 확인이 JSON을 쓰기 전에 끝나야 200 + 빈 페이지가 아니라 400
+        mockMvc.perform(get("/members/compact").param("sort", "age"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(not(containsString("content"))));
+    }
+
+    @Test
+    public void cursorRejectsMalformedToken() throws Exception {
+        mockMvc.perform(get("/members/cursor").param("cursor", "not-a-cursor!"))
+                .andExpect(status().isBadRequest());
+
+        // Base64는 맞지만 id 부분이 숫자가 아님
+        mockMvc.perform(get("/members/cursor").param("cursor", "bWVtYmVyOmFiYw"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void cursorCapsSizeAndSkipsNullUsername() throws Exception {
+        // given
+        memberRepository.save(Member.builder().username(null).build());
+        memberRepository.save(Member.builder().username("cursor1").build());
+        em.flush();
+
+        // size + 1이 overflow하지 않고, username이 null인 member는 목록에 없음
+        mockMvc.perform(get("/members/cursor").param("size", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[?(@.username == null)]").isEmpty())
+                .andExpect(jsonPath("$.content[?(@.username == 'cursor1')]").isNotEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void overviewUsesMembersOwnTeam() throws Exception {
+        // given: 조회가 다른 스레드의 트랜잭션에서 실행되므로 커밋된 데이터로
+        Team team = teamRepository.save(Team.builder().name("overviewTeam").build());
+        Member member = memberRepository.save(Member.builder().username("overview").team(team).build());
+
+        try {
+            // when
+            MvcResult result = mockMvc.perform(get("/members/{id}/overview", member.getId()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.member.teamName").value("overviewTeam"))
+                    .andExpect(jsonPath("$.totalMembers").value(memberRepository.count()))
+                    .andExpect(jsonPath("$.totalTeams").value(teamRepository.count()));
+        } finally {
+            memberRepository.delete(member);
+            teamRepository.delete(team);
+        }
+    }
+
+}
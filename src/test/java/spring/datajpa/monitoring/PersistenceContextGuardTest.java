@@ -0,0 +1,99 @@
+package spring.datajpa.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Transactional;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "datajpa.persistence-context-guard.max-managed-entities=10")
+@Transactional
+class PersistenceContextGuardTest {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    BatchJob batchJob;
+
+    @Test
+    public void warnOnlyByDefault() {
+        // given
+        double cleared = meterRegistry.get("persistence.context.guard").tag("action", "clear").counter().count();
+        double warned = meterRegistry.get("persistence.context.guard").tag("action", "warn").counter().count();
+
+        // when
+        for (int i = 0; i < 35; i++) {
+            memberJpaRepository.save(Member.builder().username("guard").age(i).build());
+        }
+
+        // then
+        // 엔티티는 계속 영속 상태 -> 이후 수정도 dirty checking 됨
+        assertThat(em.unwrap(SessionImplementor.class).getPersistenceContextInternal().getNumberOfManagedEntities())
+                .isGreaterThanOrEqualTo(35);
+        assertThat(meterRegistry.get("persistence.context.guard").tag("action", "clear").counter().count())
+                .isEqualTo(cleared);
+        assertThat(meterRegistry.get("persistence.context.guard").tag("action", "warn").counter().count())
+                .isGreaterThan(warned);
+    }
+
+    @Test
+    public void flushAndClearInsideAutoClearScope() {
+        // given
+        double before = meterRegistry.get("persistence.context.guard").tag("action", "clear").counter().count();
+
+        // when
+        batchJob.run(() -> {
+            for (int i = 0; i < 35; i++) {
+                memberJpaRepository.save(Member.builder().username("guard").age(i).build());
+            }
+        });
+
+        // then
+        assertThat(em.unwrap(SessionImplementor.class).getPersistenceContextInternal().getNumberOfManagedEntities())
+                .isLessThanOrEqualTo(10);
+        assertThat(meterRegistry.get("persistence.context.guard").tag("action", "clear").counter().count() - before)
+                .isEqualTo(3);
+
+        // clear 전에 flush 했으므로 유실 없음
+        List<Member> result = memberJpaRepository.findByUsername("guard");
+        assertThat(result).hasSize(35);
+    }
+
+    @TestConfiguration
+    static class BatchJobConfig {
+
+        @Bean
+        BatchJob batchJob() {
+            return new BatchJob();
+        }
+
+    }
+
+    @AutoClearPersistenceContext
+    static class BatchJob {
+
+        public void run(Runnable job) {
+            job.run();
+        }
+
+    }
+
+}
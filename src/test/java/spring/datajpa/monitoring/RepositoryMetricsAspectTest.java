@@ -0,0 +1,74 @@
+package spring.datajpa.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberJpaRepository;
+import spring.datajpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "datajpa.monitoring.n-plus-one-threshold=3")
+@Transactional
+class RepositoryMetricsAspectTest {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Test
+    public void recordPerMethod() {
+        // given
+        memberRepository.save(Member.builder().username("metrics").age(10).build());
+        memberJpaRepository.save(Member.builder().username("metrics").age(20).build());
+
+        // when
+        List<Member> result = memberRepository.findListByUsername("metrics");
+        memberJpaRepository.findByUsername("metrics");
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(meterRegistry.get("repository.invocation")
+                .tags("repository", "MemberRepository", "method", "findListByUsername", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("repository.rows")
+                .tags("repository", "MemberRepository", "method", "findListByUsername")
+                .summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("repository.statements")
+                .tags("repository", "MemberRepository", "method", "findListByUsername")
+                .summary().max()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("repository.invocation")
+                .tags("repository", "MemberJpaRepository", "method", "findByUsername")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void flagRepeatedStatements() {
+        // given
+        List<Member> members = IntStream.range(0, 5)
+                .mapToObj(i -> Member.builder().username("repeat" + i).build())
+                .collect(Collectors.toList());
+
+        // when
+        // 배치 크기 1 -> 같은 insert가 5번 준비됨
+        memberRepository.saveAllBatched(members, 1);
+
+        // then
+        assertThat(meterRegistry.get("repository.nplusone")
+                .tags("repository", "MemberRepository", "method", "saveAllBatched")
+                .counter().count()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,52 @@
+package spring.datajpa.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 임계값 0ms: 모든 SQL이 느린 쿼리로 잡히는 상황에서 버퍼 크기 제한과 EXPLAIN 확인
+@SpringBootTest(properties = {"datajpa.slow-query.threshold-ms=0", "datajpa.slow-query.capacity=5"})
+@Transactional
+class SlowQueryLogTest {
+
+    @Autowired
+    SlowQueryLog slowQueryLog;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void captureWithPlan() {
+        // given
+        memberRepository.save(Member.builder().username("slow").age(10).build());
+        em.flush();
+        slowQueryLog.clear();
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            memberRepository.findUser("slow", 10);
+        }
+
+        // then
+        List<SlowQuery> entries = slowQueryLog.entries();
+        assertThat(entries).hasSize(5);
+
+        SlowQuery last = entries.get(entries.size() - 1);
+        assertThat(last.getSql()).containsIgnoringCase("from member");
+        assertThat(last.getSqlWithValues()).contains("slow");
+        assertThat(last.getPlan()).containsIgnoringCase("select").doesNotStartWith("EXPLAIN failed");
+    }
+
+}
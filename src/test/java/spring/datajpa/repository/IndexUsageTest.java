@@ -0,0 +1,129 @@
+package spring.datajpa.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import spring.datajpa.entity.Member;
+import spring.datajpa.entity.Team;
+import spring.datajpa.monitoring.SlowQuery;
+import spring.datajpa.monitoring.SlowQueryLog;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 느린 쿼리 임계값을 0ms로 두고 캡처된 H2 EXPLAIN 결과로 인덱스 사용 여부 확인
+@SpringBootTest(properties = {"datajpa.slow-query.threshold-ms=0", "datajpa.slow-query.capacity=200"})
+@Transactional
+class IndexUsageTest {
+
+    private static final int ROWS = 10_000;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    SlowQueryLog slowQueryLog;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @BeforeEach
+    void seed() {
+        List<Team> teams = teamRepository.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> Team.builder().name("team" + i).build())
+                .collect(Collectors.toList()));
+
+        Iterable<Member> members = () -> IntStream.range(0, ROWS)
+                .mapToObj(i -> Member.builder().username("member" + i).age(i % 100).team(teams.get(i % 100)).build())
+                .iterator();
+        memberRepository.saveAllBatched(members, 1000);
+    }
+
+    @Test
+    public void findByUsername() {
+        assertThat(planOf(() -> memberRepository.findByUsername("member42"), "from member"))
+                .containsIgnoringCase("idx_member_username");
+        assertThat(planOf(() -> memberRepository.findListByUsername("member42"), "from member"))
+                .containsIgnoringCase("idx_member_username");
+        assertThat(planOf(() -> memberJpaRepository.findByUsername("member42"), "from member"))
+                .containsIgnoringCase("idx_member_username");
+    }
+
+    @Test
+    public void findByUsernameAndAgeGreaterThan() {
+        // username으로 좁힌 뒤 age는 행에서 거름 (username, age) 인덱스를 따로 두지 않음
+        assertThat(planOf(() -> memberRepository.findByUsernameAndAgeGreaterThan("member42", 10), "from member"))
+                .containsIgnoringCase("idx_member_username_id");
+    }
+
+    @Test
+    public void findByNames() {
+        assertThat(planOf(() -> memberRepository.findByNames(List.of("member1", "member2", "member3")), "from member"))
+                .containsIgnoringCase("idx_member_username");
+    }
+
+    @Test
+    public void findLockByUsername() {
+        assertThat(planOf(() -> memberRepository.findLockByUsername("member42"), "from member"))
+                .containsIgnoringCase("idx_member_username");
+    }
+
+    @Test
+    public void findByNativeQuery() {
+        assertThat(planOf(() -> memberRepository.findByNativeQuery("member42"), "from member"))
+                .containsIgnoringCase("idx_member_username");
+    }
+
+    @Test
+    public void findByPage() {
+        assertThat(planOf(() -> memberJpaRepository.findByPage(10, 0, 20), "from member"))
+                .containsIgnoringCase("idx_member_age_username");
+    }
+
+    @Test
+    public void keysetPaging() {
+        assertThat(planOf(() -> memberRepository.findMemberDtoAfter("member500", 0L, PageRequest.of(0, 20)), "from member"))
+                .containsIgnoringCase("idx_member_username_id");
+    }
+
+    @Test
+    public void bulkUpdate() {
+        assertThat(planOf(() -> memberRepository.bulkAgeIncrementMtAge(99), "update member"))
+                .containsIgnoringCase("idx_member_age_username");
+    }
+
+    @Test
+    public void teamMembersBatchFetch() {
+        em.clear();
+        List<Team> teams = teamRepository.findAll();
+
+        assertThat(planOf(() -> teams.forEach(team -> team.getMembers().size()), "team_id in"))
+                .containsIgnoringCase("idx_member_team");
+    }
+
+    private String planOf(Runnable query, String sqlFragment) {
+        slowQueryLog.clear();
+        query.run();
+
+        return slowQueryLog.entries().stream()
+                .filter(slowQuery -> slowQuery.getSql().toLowerCase().contains(sqlFragment))
+                .map(SlowQuery::getPlan)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no statement containing '" + sqlFragment + "'"));
+    }
+
+}
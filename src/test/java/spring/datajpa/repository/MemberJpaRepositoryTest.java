@@ -88,11 +88,12 @@ class MemberJpaRepositoryTest {
     @Test
     public void paging() {
         // given
+        int age = 10;
         for (int i = 1; i <= 5; i++) {
-            memberJpaRepository.save(Member.builder().username("member" + i).build());
+            memberJpaRepository.save(Member.builder().username("member" + i).age(age).build());
         }
+        memberJpaRepository.save(Member.builder().username("other").age(age + 1).build());
 
-        int age = 10;
         int offset = 0;
         int limit = 3;
 
@@ -3,20 +3,27 @@ package spring.datajpa.repository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import spring.datajpa.QueryCounter;
+import spring.datajpa.dto.MemberDto;
 import spring.datajpa.entity.Member;
 import spring.datajpa.entity.Team;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 @Transactional
+@Import(QueryCounter.class)
 class MemberRepositoryTest {
 
     @Autowired
@@ -25,6 +32,9 @@ class MemberRepositoryTest {
     @Autowired
     TeamRepository teamRepository;
 
+    @Autowired
+    QueryCounter queryCounter;
+
     @PersistenceContext
     EntityManager em;
 
@@ -153,6 +163,59 @@ class MemberRepositoryTest {
         });
     }
 
+    @Test
+    public void findByNamesInChunks() {
+        // given
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            names.add("chunk" + i);
+        }
+        memberRepository.saveAllBatched(
+                names.stream().map(name -> Member.builder().username(name).build()).collect(Collectors.toList()), 500);
+
+        // when
+        // 청크 3개(512, 512, 176)로 나뉘고 중복 이름은 한 번만 조회
+        names.add("chunk0");
+        List<Member> result = memberRepository.findByNamesInChunks(names);
+
+        // then
+        assertThat(result).hasSize(1200);
+        assertThat(result).extracting(Member::getUsername).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findByNamesInChunksInParallel() {
+        // given
+        // 트랜잭션 밖이라 커밋된 데이터를 청크별로 repositoryExecutor에서 동시에 조회
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            names.add("parallelChunk" + i);
+        }
+        List<Member> saved = names.stream()
+                .filter(name -> name.hashCode() % 2 == 0)
+                .map(name -> Member.builder().username(name).build())
+                .collect(Collectors.toList());
+        memberRepository.saveAllBatched(saved, 500);
+
+        try {
+            // when
+            queryCounter.reset();
+            List<Member> result = memberRepository.findByNamesInChunks(names);
+
+            // then
+            // 세 청크(512, 512, 176)의 결과가 빠짐없이, 중복 없이 합쳐짐
+            assertThat(result).extracting(Member::getUsername)
+                    .doesNotHaveDuplicates()
+                    .containsExactlyInAnyOrderElementsOf(saved.stream().map(Member::getUsername).collect(Collectors.toList()));
+            // 청크 조회는 호출한 스레드가 아니라 repositoryExecutor 스레드에서 실행됨
+            assertThat(queryCounter.getCount()).isEqualTo(3);
+            assertThat(queryCounter.getThreadNames()).isNotEmpty().allMatch(name -> name.startsWith("repository-"));
+        } finally {
+            memberRepository.deleteAllInBatch(saved);
+        }
+    }
+
     @Test
     public void returnTypeTest() {
         Member m1 = Member.builder().username("AAA").age(10).build();
@@ -191,6 +254,95 @@ class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue();
     }
 
+    @Test
+    public void memberDtoPage() {
+        // given
+        Team teamA = Team.builder().name("teamA").build();
+        teamRepository.save(teamA);
+
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(Member.builder().username("member" + i).team(i % 2 == 0 ? teamA : null).build());
+        }
+
+        em.flush();
+        em.clear();
+        queryCounter.reset();
+
+        // when
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(PageRequest.of(0, 3));
+        page.getContent().forEach(memberDto -> System.out.println("teamName = " + memberDto.getTeamName()));
+
+        // then
+        // 컨텐츠 쿼리 1번 + count 쿼리 1번, team 조회는 추가로 나가지 않음
+        assertThat(page.getContent().size()).isEqualTo(3);
+        assertThat(queryCounter.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void sliceWithLookAhead() {
+        // given
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(Member.builder().username("slice" + i).build());
+        }
+
+        em.flush();
+        em.clear();
+        queryCounter.reset();
+
+        // when
+        Slice<MemberDto> slice = memberRepository.findMemberDtoSlice(PageRequest.of(0, 3));
+
+        // then
+        // size + 1건을 읽어서 hasNext 판단, count 쿼리 없음
+        assertThat(slice.getContent().size()).isEqualTo(3);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(queryCounter.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shortFirstPageSkipsCount() {
+        // given
+        memberRepository.save(Member.builder().username("short").build());
+        long total = memberRepository.count();
+
+        em.flush();
+        em.clear();
+        queryCounter.reset();
+
+        // when
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(PageRequest.of(0, (int) total + 10));
+
+        // then
+        // 첫 페이지가 덜 차면 컨텐츠 크기가 곧 total이므로 count 쿼리 생략
+        assertThat(page.getTotalElements()).isEqualTo(total);
+        assertThat(queryCounter.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void keysetPaging() {
+        // given
+        Team teamA = Team.builder().name("teamA").build();
+        teamRepository.save(teamA);
+
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(Member.builder().username("keyset" + i).team(i % 2 == 0 ? teamA : null).build());
+        }
+
+        // when
+        // offset 없이 마지막으로 읽은 (username, id) 다음부터 조회
+        List<MemberDto> first = memberRepository.findMemberDtoAfter("keyset", 0L, PageRequest.of(0, 3));
+        MemberDto last = first.get(first.size() - 1);
+        List<MemberDto> second = memberRepository.findMemberDtoAfter(last.getUsername(), last.getId(), PageRequest.of(0, 2));
+
+        // then
+        assertThat(first.stream().map(MemberDto::getUsername).collect(Collectors.toList()))
+                .containsExactly("keyset1", "keyset2", "keyset3");
+        assertThat(second.stream().map(MemberDto::getUsername).collect(Collectors.toList()))
+                .containsExactly("keyset4", "keyset5");
+        assertThat(first.get(0).getTeamName()).isNull();
+        assertThat(first.get(1).getTeamName()).isEqualTo("teamA");
+    }
+
     @Test
     public void bulkUpdate() {
         // given
@@ -205,6 +357,78 @@ class MemberRepositoryTest {
         assertThat(resultCount).isEqualTo(3);
     }
 
+    @Test
+    public void saveAllBatched() {
+        // given
+        long before = memberRepository.count();
+        List<Member> members = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            members.add(Member.builder().username("batch" + i).age(i).build());
+        }
+
+        // when
+        long saved = memberRepository.saveAllBatched(members, 3);
+
+        // then
+        assertThat(saved).isEqualTo(10);
+        assertThat(memberRepository.count()).isEqualTo(before + 10);
+        assertThat(members).allMatch(member -> member.getId() != null);
+    }
+
+    @Test
+    public void auditingInBatch() {
+        // given
+        List<Member> members = List.of(
+                Member.builder().username("audit1").build(),
+                Member.builder().username("audit2").build(),
+                Member.builder().username("audit3").build());
+
+        // when
+        memberRepository.saveAllBatched(members, 3);
+
+        // then
+        // 같은 flush 배치는 같은 시각, 요청 밖이므로 system 사용자
+        assertThat(members).extracting(Member::getCreatedDate).doesNotContainNull().containsOnly(members.get(0).getCreatedDate());
+        assertThat(members).extracting(Member::getCreatedBy).containsOnly("system");
+    }
+
+    @Test
+    public void scrollAll() {
+        // given
+        Team teamA = Team.builder().name("teamA").build();
+        teamRepository.save(teamA);
+        memberRepository.save(Member.builder().username("m1").team(teamA).build());
+        memberRepository.save(Member.builder().username("m2").build());
+
+        em.flush();
+        em.clear();
+
+        // when
+        List<String> teamNames = new ArrayList<>();
+        long count = memberRepository.scrollAll(10, member -> teamNames.add(new MemberDto(member).getTeamName()));
+
+        // then
+        assertThat(count).isEqualTo(memberRepository.count());
+        assertThat(teamNames).contains("teamA");
+    }
+
+    @Test
+    public void bulkUpdateEvictsSecondLevelCache() {
+        // given
+        Member member = memberRepository.save(Member.builder().username("cached").age(30).build());
+        em.flush();
+        em.clear();
+        memberRepository.findById(member.getId()); // 2차 캐시에 적재
+
+        // when
+        memberRepository.bulkAgeIncrementMtAge(30);
+
+        // then
+        // 벌크 연산은 Member 리전을 비우므로 캐시된 예전 나이를 다시 읽지 않음
+        assertThat(em.getEntityManagerFactory().getCache().contains(Member.class, member.getId())).isFalse();
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(31);
+    }
+
     @Test
     public void findMemberLazy() {
         //given
@@ -307,7 +531,8 @@ class MemberRepositoryTest {
 
         // when
         memberRepository.findProjectionByUsername("m1").forEach(usernameOnly -> {
-            System.out.println("usernameOnly = " + usernameOnly);
+            System.out.println("usernameOnly = " + usernameOnly.getUsernameWithAge());
+            assertThat(usernameOnly.getUsernameWithAge()).isEqualTo("m1 0");
         });
 
         memberRepository.findProjectionDtoByUsername("m1").forEach(usernameOnlyDto -> {
@@ -0,0 +1,102 @@
+package spring.datajpa.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import spring.datajpa.controller.MemberPageWriter;
+import spring.datajpa.entity.Member;
+import spring.datajpa.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberRowRepositoryTest {
+
+    @Autowired
+    MemberPageWriter memberPageWriter;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void writeCompactPage() throws Exception {
+        // given
+        Team teamA = Team.builder().name("teamA").build();
+        em.persist(teamA);
+        em.persist(Member.builder().username("a1").team(teamA).build());
+        em.persist(Member.builder().username("a2").build());
+        em.persist(Member.builder().username("a3").build());
+        em.flush();
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        memberPageWriter.write(PageRequest.of(0, 2, Sort.by("username")), out);
+        JsonNode page = objectMapper.readTree(out.toByteArray());
+
+        // then
+        assertThat(page.get("content")).hasSize(2);
+        assertThat(page.get("content").get(0).get("username").asText()).isEqualTo("a1");
+        assertThat(page.get("content").get(0).get("teamName").asText()).isEqualTo("teamA");
+        assertThat(page.get("content").get(1).get("teamName").isNull()).isTrue();
+        assertThat(page.get("totalElements").asLong()).isEqualTo(memberRepository.count());
+        // 엔티티를 만들지 않음 (영속성 컨텍스트에는 위에서 저장한 4개뿐)
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void failedPageWritesNothing() {
+        // given: Jackson/톰캣 버퍼(8KB)를 넘는 페이지
+        for (int i = 0; i < 500; i++) {
+            em.persist(Member.builder().username("failing" + i).build());
+        }
+        em.flush();
+
+        // 모든 행을 쓴 뒤 조회가 실패하는 리포지토리
+        MemberRowRepository failing = new MemberRowRepository(jdbcTemplate) {
+            @Override
+            public int forEachRow(Pageable pageable, RowHandler handler) {
+                super.forEachRow(pageable, handler);
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+        };
+        MemberPageWriter writer = new MemberPageWriter(failing, objectMapper, transactionManager);
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // then
+        // 응답 스트림에는 아무것도 나가지 않음 -> 200 + 잘린 JSON 대신 에러 응답
+        assertThatThrownBy(() -> writer.write(PageRequest.of(0, 500), out))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(out.size()).isZero();
+    }
+
+}
@@ -0,0 +1,83 @@
+package spring.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+import spring.datajpa.QueryCounter;
+import spring.datajpa.dto.TeamMemberCountDto;
+import spring.datajpa.entity.Member;
+import spring.datajpa.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@Import(QueryCounter.class)
+class TeamRepositoryTest {
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    QueryCounter queryCounter;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void batchFetchMembers() {
+        // given
+        for (int i = 0; i < 1000; i++) {
+            Team team = teamRepository.save(Team.builder().name("team" + i).build());
+            memberRepository.save(Member.builder().username("a" + i).team(team).build());
+            memberRepository.save(Member.builder().username("b" + i).team(team).build());
+        }
+
+        em.flush();
+        em.clear();
+        queryCounter.reset();
+
+        // when
+        List<Team> teams = teamRepository.findAll();
+        long memberCount = teams.stream().mapToLong(team -> team.getMembers().size()).sum();
+
+        // then
+        // team 조회 1번 + members는 100개씩 IN 쿼리 (팀마다 1번이 아님)
+        long batches = (teams.size() + 99) / 100;
+        assertThat(memberCount).isGreaterThanOrEqualTo(2000);
+        assertThat(queryCounter.getCount()).isEqualTo(1 + batches);
+    }
+
+    @Test
+    public void findTeamMemberCounts() {
+        // given
+        Team teamA = teamRepository.save(Team.builder().name("teamA").build());
+        Team teamB = teamRepository.save(Team.builder().name("teamB").build());
+        memberRepository.save(Member.builder().username("m1").team(teamA).build());
+        memberRepository.save(Member.builder().username("m2").team(teamA).build());
+
+        em.flush();
+        em.clear();
+        queryCounter.reset();
+
+        // when
+        List<TeamMemberCountDto> result = teamRepository.findTeamMemberCounts();
+
+        // then
+        assertThat(queryCounter.getCount()).isEqualTo(1);
+        assertThat(result).filteredOn(dto -> dto.getId().equals(teamA.getId()))
+                .extracting(TeamMemberCountDto::getMemberCount).containsExactly(2L);
+        assertThat(result).filteredOn(dto -> dto.getId().equals(teamB.getId()))
+                .extracting(TeamMemberCountDto::getMemberCount).containsExactly(0L);
+    }
+
+}
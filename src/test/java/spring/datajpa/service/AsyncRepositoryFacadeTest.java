@@ -0,0 +1,62 @@
+package spring.datajpa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import spring.datajpa.dto.MemberDto;
+import spring.datajpa.entity.Member;
+import spring.datajpa.entity.Team;
+import spring.datajpa.repository.MemberRepository;
+import spring.datajpa.repository.TeamRepository;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AsyncRepositoryFacadeTest {
+
+    @Autowired
+    AsyncRepositoryFacade asyncRepositoryFacade;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    Member member;
+    Team team;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteById(member.getId());
+        teamRepository.deleteById(team.getId());
+    }
+
+    @Test
+    public void fanOut() {
+        // given
+        team = teamRepository.save(Team.builder().name("asyncTeam").build());
+        member = memberRepository.save(Member.builder().username("async").age(10).team(team).build());
+
+        // when
+        CompletableFuture<Optional<MemberDto>> foundMember = asyncRepositoryFacade.findMember(member.getId());
+        CompletableFuture<Optional<Team>> foundTeam = asyncRepositoryFacade.findTeam(team.getId());
+        CompletableFuture<Long> count = asyncRepositoryFacade.countMembers();
+        CompletableFuture<Long> teams = asyncRepositoryFacade.countTeams();
+        CompletableFuture<String> context = asyncRepositoryFacade.supply(() ->
+                Thread.currentThread().getName() + " " + TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+
+        // then
+        assertThat(foundMember.join().get().getTeamName()).isEqualTo("asyncTeam");
+        assertThat(foundTeam.join().get().getName()).isEqualTo("asyncTeam");
+        assertThat(count.join()).isEqualTo(memberRepository.count());
+        assertThat(teams.join()).isEqualTo(teamRepository.count());
+        assertThat(context.join()).startsWith("repository-").endsWith("true");
+    }
+
+}
@@ -0,0 +1,35 @@
+package spring.datajpa.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedCounterTest {
+
+    @Test
+    public void serveCachedValueAndRefreshWhenStale() {
+        // given
+        AtomicLong source = new AtomicLong(1);
+
+        // staleness 1시간: 처음 값을 계속 사용
+        CachedCounter fresh = new CachedCounter(Runnable::run, 3_600_000);
+        // staleness 0: 매번 오래된 값을 돌려주고 뒤에서 갱신
+        CachedCounter stale = new CachedCounter(Runnable::run, 0);
+
+        // when
+        long freshFirst = fresh.get("members", source::get);
+        long staleFirst = stale.get("members", source::get);
+        source.set(2);
+
+        // then
+        assertThat(freshFirst).isEqualTo(1);
+        assertThat(fresh.get("members", source::get)).isEqualTo(1);
+
+        assertThat(staleFirst).isEqualTo(1);
+        assertThat(stale.get("members", source::get)).isEqualTo(1);   // 이 호출이 갱신을 시작
+        assertThat(stale.get("members", source::get)).isEqualTo(2);
+    }
+
+}
@@ -0,0 +1,75 @@
+package spring.datajpa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 구간마다 별도 트랜잭션으로 커밋하므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+class MemberBulkUpdaterTest {
+
+    @Autowired
+    MemberBulkUpdater memberBulkUpdater;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    List<Member> members = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(members);
+    }
+
+    @Test
+    public void incrementAgeInChunks() {
+        // given
+        for (int i = 0; i < 10; i++) {
+            members.add(Member.builder().username("bulk" + i).age(5000 + i).build());
+        }
+        memberRepository.saveAll(members);
+
+        // when
+        List<Integer> progress = new CopyOnWriteArrayList<>();
+        MemberBulkUpdater.Result result = memberBulkUpdater.incrementAgeFrom(5005, 2, 3,
+                (completedChunks, totalChunks, updatedRows) -> progress.add(completedChunks));
+
+        // then
+        assertThat(result.getUpdatedRows()).isEqualTo(5);
+        assertThat(result.getChunks()).isEqualTo(3);    // 대상 id 5개를 2개씩 (id 간격과 무관)
+        assertThat(progress).hasSize(result.getChunks());
+        for (Member member : members) {
+            int expected = member.getAge() >= 5005 ? member.getAge() + 1 : member.getAge();
+            assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void sparseIdsAndParallelismAbovePoolSize() {
+        // given: 대상 id 사이가 크게 벌어져 있음
+        for (int i = 0; i < 6; i++) {
+            members.add(Member.builder().username("sparse" + i).age(6000).build());
+        }
+        memberRepository.saveAll(members);
+        memberRepository.deleteAllInBatch(List.of(members.get(1), members.get(2), members.get(3), members.get(4)));
+
+        // when: 풀 크기보다 큰 병렬도도 풀 크기로 제한되어 그대로 동작
+        MemberBulkUpdater.Result result = memberBulkUpdater.incrementAgeFrom(6000, 1, 100, (done, total, updated) -> { });
+
+        // then
+        assertThat(result.getUpdatedRows()).isEqualTo(2);
+        assertThat(result.getChunks()).isEqualTo(2);
+        assertThat(memberRepository.findById(members.get(0).getId()).get().getAge()).isEqualTo(6001);
+        assertThat(memberRepository.findById(members.get(5).getId()).get().getAge()).isEqualTo(6001);
+    }
+
+}
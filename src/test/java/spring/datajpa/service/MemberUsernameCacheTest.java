@@ -0,0 +1,121 @@
+package spring.datajpa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.datajpa.QueryCounter;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(QueryCounter.class)
+class MemberUsernameCacheTest {
+
+    @Autowired
+    MemberUsernameCache memberUsernameCache;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    QueryCounter queryCounter;
+
+    List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        created.forEach(memberRepository::deleteById);
+    }
+
+    @Test
+    public void invalidateOnRenameAndSave() {
+        // given
+        Member member = memberRepository.save(Member.builder().username("nearCache").age(10).build());
+        created.add(member.getId());
+        assertThat(memberUsernameCache.findListByUsername("nearCache")).hasSize(1);
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                memberRepository.findById(member.getId()).get().updateUsername("renamed"));
+
+        // then
+        assertThat(memberUsernameCache.findListByUsername("nearCache")).isEmpty();
+        assertThat(memberUsernameCache.findMemberByUsername("renamed").getId()).isEqualTo(member.getId());
+
+        created.add(memberRepository.save(Member.builder().username("renamed").age(20).build()).getId());
+        assertThat(memberUsernameCache.findListByUsername("renamed")).hasSize(2);
+    }
+
+    @Test
+    public void servedFromCacheAfterFirstLookup() {
+        // given
+        Member member = memberRepository.save(Member.builder().username("hot").age(10).build());
+        created.add(member.getId());
+        memberUsernameCache.findListByUsername("hot");
+
+        // when
+        queryCounter.reset();
+        List<Member> result = memberUsernameCache.findListByUsername("hot");
+
+        // then
+        // id는 near cache, 엔티티는 2차 캐시
+        assertThat(result).hasSize(1);
+        assertThat(queryCounter.getCount()).isZero();
+    }
+
+    @Test
+    public void coalesceConcurrentMisses() {
+        // given
+        Member member = memberRepository.save(Member.builder().username("coalesce").age(10).build());
+        created.add(member.getId());
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        queryCounter.reset();
+        List<CompletableFuture<List<Long>>> lookups = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return memberUsernameCache.findIdsByUsername("coalesce");
+                }))
+                .collect(Collectors.toList());
+        start.countDown();
+
+        // then
+        // 먼저 자리를 잡은 한 스레드만 조회, 나머지는 그 결과(또는 캐시)를 사용
+        lookups.forEach(lookup -> assertThat(lookup.join()).containsExactly(member.getId()));
+        assertThat(queryCounter.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void nullUsername() {
+        // when
+        queryCounter.reset();
+
+        // then
+        assertThat(memberUsernameCache.findListByUsername(null)).isEmpty();
+        assertThat(memberUsernameCache.findOptionalMemberByUsername(null)).isEmpty();
+        assertThat(memberUsernameCache.findMemberByUsername(null)).isNull();
+        assertThat(queryCounter.getCount()).isZero();
+    }
+
+}
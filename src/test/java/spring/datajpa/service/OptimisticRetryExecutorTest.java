@@ -0,0 +1,65 @@
+package spring.datajpa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.datajpa.entity.Member;
+import spring.datajpa.repository.MemberRepository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OptimisticRetryExecutorTest {
+
+    @Autowired
+    OptimisticRetryExecutor optimisticRetryExecutor;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    Member member;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteById(member.getId());
+    }
+
+    @Test
+    public void retryOnVersionConflict() {
+        // given
+        member = memberRepository.save(Member.builder().username("optimistic").age(10).build());
+        Long id = member.getId();
+
+        TransactionTemplate otherTransaction = new TransactionTemplate(transactionManager);
+        otherTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // when
+        AtomicInteger attempts = new AtomicInteger();
+        optimisticRetryExecutor.run(() -> {
+            Member found = memberRepository.findById(id).get();
+
+            if (attempts.incrementAndGet() == 1) {
+                // 첫 시도 중간에 다른 트랜잭션이 먼저 수정하고 커밋 -> 버전 충돌
+                otherTransaction.executeWithoutResult(status -> memberRepository.findById(id).get().increaseAge());
+            }
+
+            found.increaseAge();
+        });
+
+        // then
+        Member result = memberRepository.findById(id).get();
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(result.getAge()).isEqualTo(12);
+        assertThat(result.getVersion()).isEqualTo(2);
+    }
+
+}